@@ -1,2 +1,5 @@
 #!/bin/sh
-mvn clean -q test -Dmaven.javadoc.skip=true -Dgpg.skip
\ No newline at end of file
+set -e
+mvn clean -q install -Dmaven.javadoc.skip=true -Dgpg.skip
+mvn -q -f env-config-processor/pom.xml clean test
+mvn -q -f env-config-benchmarks/pom.xml clean package
@@ -0,0 +1,172 @@
+package com.github.sitture.envconfig;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * A generated config directory, shared by all threads of a trial.
+ * Each environment of the chain has {@link #files} property files of {@link #keys} keys each.
+ * The environments are {@code default} and {@code env1} up to {@code env<depth - 1>}, each based on the one before it,
+ * and each overrides the first half of the keys of {@code default}.
+ * With {@link #profiles} each environment also has a profile overriding the first quarter of the keys.
+ * File 0 of every environment also holds {@link #INT_KEY} and {@link #LIST_KEY}.
+ */
+@State(Scope.Benchmark)
+public class EnvConfigBenchmarkTree {
+
+    static final String PROFILE = "bench";
+    static final String INT_KEY = "bench.int";
+    static final String LIST_KEY = "bench.list";
+    static final String OVERRIDDEN_KEY = "bench.file0.key0";
+
+    /**
+     * The number of property files in each environment.
+     */
+    @Param({"1", "10"})
+    int files;
+
+    /**
+     * The number of keys in each property file.
+     */
+    @Param({"100", "1000"})
+    int keys;
+
+    /**
+     * The number of environments, {@code default} included.
+     */
+    @Param({"1", "3"})
+    int depth;
+
+    /**
+     * Whether the environments have a profile.
+     */
+    @Param({"false", "true"})
+    boolean profiles;
+
+    private Path directory;
+
+    /**
+     * Returns a key only the {@code default} environment has.
+     *
+     * @return the key.
+     */
+    String getInheritedKey() {
+        return "bench.file0.key" + (this.keys - 1);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("env-config-bench");
+        getProperties(write(this.directory)).forEach(System::setProperty);
+        EnvConfig.reset();
+        EnvConfig.getConfig();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        EnvConfig.reset();
+        getProperties(this.directory).keySet().forEach(System::clearProperty);
+        delete(this.directory);
+    }
+
+    /**
+     * Writes the environments of the tree.
+     *
+     * @param configDir the config directory
+     * @return the config directory.
+     * @throws IOException if a file cannot be written.
+     */
+    Path write(final Path configDir) throws IOException {
+        final List<String> environments = getEnvironments();
+        for (int level = 0; level < environments.size(); level++) {
+            final Path environment = configDir.resolve(environments.get(level));
+            writeFiles(environment, environments.get(level), level == 0 ? this.keys : this.keys / 2);
+            if (this.profiles) {
+                writeFiles(environment.resolve(PROFILE), environments.get(level) + "-" + PROFILE, this.keys / 4);
+            }
+        }
+        return configDir;
+    }
+
+    /**
+     * Returns the system properties loading the tree, with the last environment as the current one.
+     *
+     * @param configDir the config directory the tree was written to
+     * @return the system properties.
+     */
+    Map<String, String> getProperties(final Path configDir) {
+        final List<String> environments = getEnvironments();
+        final Map<String, String> properties = new LinkedHashMap<>();
+        properties.put(EnvConfigKey.CONFIG_PATH.getProperty(), configDir.toString());
+        properties.put(EnvConfigKey.CONFIG_ENV.getProperty(), this.depth == 1
+            ? EnvConfigUtils.CONFIG_ENV_DEFAULT
+            : String.join(",", environments.subList(1, environments.size())));
+        if (this.profiles) {
+            properties.put(EnvConfigKey.CONFIG_PROFILE.getProperty(), PROFILE);
+        }
+        return properties;
+    }
+
+    /**
+     * The environments of the tree, {@code default} first.
+     *
+     * @return the environment names.
+     */
+    List<String> getEnvironments() {
+        return IntStream.range(0, this.depth)
+            .mapToObj(level -> level == 0 ? EnvConfigUtils.CONFIG_ENV_DEFAULT : "env" + level)
+            .toList();
+    }
+
+    /**
+     * Deletes a directory with everything under it.
+     *
+     * @param directory the directory
+     * @throws IOException if the directory cannot be listed.
+     */
+    static void delete(final Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(EnvConfigBenchmarkTree::deleteFile);
+        }
+    }
+
+    private void writeFiles(final Path environment, final String name, final int count) throws IOException {
+        Files.createDirectories(environment);
+        for (int file = 0; file < this.files; file++) {
+            final int index = file;
+            final StringBuilder properties = new StringBuilder(count * 40);
+            if (file == 0) {
+                properties.append(INT_KEY).append('=').append(count).append('\n')
+                    .append(LIST_KEY).append('=')
+                    .append(IntStream.range(0, 8).mapToObj(item -> name + item).collect(Collectors.joining(", ")))
+                    .append('\n');
+            }
+            IntStream.range(0, count).forEach(key -> properties.append("bench.file").append(index).append(".key").append(key)
+                .append('=').append(name).append('-').append(index).append('-').append(key).append('\n'));
+            Files.writeString(environment.resolve("bench" + file + ".properties"), properties);
+        }
+    }
+
+    private static void deleteFile(final Path path) {
+        try {
+            Files.delete(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
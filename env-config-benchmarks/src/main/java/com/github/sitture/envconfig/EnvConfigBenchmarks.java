@@ -0,0 +1,33 @@
+package com.github.sitture.envconfig;
+
+import java.io.IOException;
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks matching the JMH command line, always with the GC profiler,
+ * so every result has its allocation rate ({@code gc.alloc.rate.norm} is bytes per operation) next to its throughput.
+ */
+public final class EnvConfigBenchmarks {
+
+    private EnvConfigBenchmarks() {
+    }
+
+    public static void main(final String... args) throws CommandLineOptionException, RunnerException, IOException {
+        final CommandLineOptions options = new CommandLineOptions(args);
+        if (options.shouldHelp() || options.shouldList() || options.shouldListWithParams()
+            || options.shouldListProfilers() || options.shouldListResultFormats()) {
+            Main.main(args);
+        } else {
+            new Runner(new OptionsBuilder()
+                .parent(options)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.sitture.envconfig;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups and conversions of a loaded config from all available processors,
+ * and lookups racing a thread that keeps setting a key.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnvConfigConcurrentReadBenchmark {
+
+    private static final String WRITTEN_KEY = "bench.written";
+    private final AtomicInteger written = new AtomicInteger();
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public String get(final EnvConfigBenchmarkTree tree) {
+        return EnvConfig.get(EnvConfigBenchmarkTree.OVERRIDDEN_KEY);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public int getInt(final EnvConfigBenchmarkTree tree) {
+        return EnvConfig.getInt(EnvConfigBenchmarkTree.INT_KEY);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public List<String> getList(final EnvConfigBenchmarkTree tree) {
+        return EnvConfig.getList(EnvConfigBenchmarkTree.LIST_KEY);
+    }
+
+    @Benchmark
+    @Group("readWhileSet")
+    @GroupThreads(3)
+    public String read(final EnvConfigBenchmarkTree tree) {
+        return EnvConfig.get(EnvConfigBenchmarkTree.OVERRIDDEN_KEY);
+    }
+
+    @Benchmark
+    @Group("readWhileSet")
+    @GroupThreads(1)
+    public void set(final EnvConfigBenchmarkTree tree) {
+        EnvConfig.set(WRITTEN_KEY, this.written.incrementAndGet());
+    }
+}
@@ -0,0 +1,82 @@
+package com.github.sitture.envconfig;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.linguafranca.pwdb.kdbx.KdbxCreds;
+import org.linguafranca.pwdb.kdbx.KdbxHeader;
+import org.linguafranca.pwdb.kdbx.KdbxStreamFormat;
+import org.linguafranca.pwdb.kdbx.jackson.JacksonDatabase;
+import org.linguafranca.pwdb.kdbx.jackson.JacksonEntry;
+import org.linguafranca.pwdb.kdbx.jackson.JacksonGroup;
+
+/**
+ * A generated keepass database, with a project group holding a group of {@code entries} entries for each environment.
+ * KDBX 3.1 databases derive their key with AES-KDF and KDBX 4 databases with Argon2,
+ * for {@code rounds} transform rounds or iterations respectively, or the library default when 0.
+ */
+final class EnvConfigKeepassFixture {
+
+    private static final String NAME = "bench";
+    private static final String MASTER_KEY = "bench";
+    private static final String ARGON2_ITERATIONS = "I";
+    private static final int KDBX_3 = 3;
+    private final int version;
+    private final int entries;
+    private final long rounds;
+
+    EnvConfigKeepassFixture(final int version, final int entries, final long rounds) {
+        this.version = version;
+        this.entries = entries;
+        this.rounds = rounds;
+    }
+
+    /**
+     * Writes the database.
+     *
+     * @param classpathDir a directory on the classpath of the loading JVM, as keepass databases are loaded as resources
+     * @param environments the environments to add a group for
+     * @throws IOException if the database cannot be written.
+     */
+    void write(final Path classpathDir, final List<String> environments) throws IOException {
+        final JacksonDatabase database = new JacksonDatabase();
+        final JacksonGroup project = database.getRootGroup().addGroup(database.newGroup(NAME));
+        for (final String environment : environments) {
+            final JacksonGroup group = project.addGroup(database.newGroup(environment));
+            for (int i = 0; i < this.entries; i++) {
+                final JacksonEntry entry = database.newEntry();
+                entry.setTitle("bench.secret" + i);
+                entry.setPassword(environment + "-secret-" + i);
+                group.addEntry(entry);
+            }
+        }
+        final KdbxHeader header = new KdbxHeader(this.version);
+        if (this.rounds > 0 && this.version == KDBX_3) {
+            header.setTransformRounds(this.rounds);
+        } else if (this.rounds > 0) {
+            header.getKdfParameters().putULong(ARGON2_ITERATIONS, this.rounds);
+        }
+        Files.createDirectories(classpathDir);
+        try (OutputStream output = Files.newOutputStream(classpathDir.resolve(NAME + ".kdbx"))) {
+            database.save(new KdbxStreamFormat(header), new KdbxCreds(MASTER_KEY.getBytes(StandardCharsets.UTF_8)), output);
+        }
+    }
+
+    /**
+     * Returns the system properties loading the database.
+     *
+     * @return the system properties.
+     */
+    Map<String, String> getProperties() {
+        final Map<String, String> properties = new LinkedHashMap<>();
+        properties.put(EnvConfigKey.CONFIG_KEEPASS_ENABLED.getProperty(), "true");
+        properties.put(EnvConfigKey.CONFIG_KEEPASS_FILENAME.getProperty(), NAME);
+        properties.put(EnvConfigKey.CONFIG_KEEPASS_MASTERKEY.getProperty(), MASTER_KEY);
+        return properties;
+    }
+}
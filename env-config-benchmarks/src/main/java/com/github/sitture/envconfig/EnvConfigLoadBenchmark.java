@@ -0,0 +1,45 @@
+package com.github.sitture.envconfig;
+
+import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading a config from its files, and reading all of a loaded config.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnvConfigLoadBenchmark {
+
+    @Benchmark
+    public EnvConfigSnapshot load(final EnvConfigBenchmarkTree tree) {
+        final EnvConfigLoader loader = new EnvConfigLoader();
+        loader.close();
+        return loader.getSnapshot();
+    }
+
+    @Benchmark
+    public Map<String, Object> asMap(final EnvConfigBenchmarkTree tree) {
+        return EnvConfig.asMap();
+    }
+
+    @Benchmark
+    public void exportProperties(final EnvConfigBenchmarkTree tree) {
+        EnvConfig.export(Writer.nullWriter(), EnvConfigFormat.PROPERTIES);
+    }
+
+    @Benchmark
+    public void exportJson(final EnvConfigBenchmarkTree tree) {
+        EnvConfig.export(Writer.nullWriter(), EnvConfigFormat.JSON);
+    }
+}
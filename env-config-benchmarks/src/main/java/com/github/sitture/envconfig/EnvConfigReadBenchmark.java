@@ -0,0 +1,47 @@
+package com.github.sitture.envconfig;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single threaded lookups and conversions of a loaded config.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnvConfigReadBenchmark {
+
+    @Benchmark
+    public String get(final EnvConfigBenchmarkTree tree) {
+        return EnvConfig.get(EnvConfigBenchmarkTree.OVERRIDDEN_KEY);
+    }
+
+    @Benchmark
+    public String getInherited(final EnvConfigBenchmarkTree tree) {
+        return EnvConfig.get(tree.getInheritedKey());
+    }
+
+    @Benchmark
+    public String getMissing(final EnvConfigBenchmarkTree tree) {
+        return EnvConfig.get("bench.missing", "");
+    }
+
+    @Benchmark
+    public int getInt(final EnvConfigBenchmarkTree tree) {
+        return EnvConfig.getInt(EnvConfigBenchmarkTree.INT_KEY);
+    }
+
+    @Benchmark
+    public List<String> getList(final EnvConfigBenchmarkTree tree) {
+        return EnvConfig.getList(EnvConfigBenchmarkTree.LIST_KEY);
+    }
+}
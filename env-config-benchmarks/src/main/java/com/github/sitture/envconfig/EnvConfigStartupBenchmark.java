@@ -0,0 +1,183 @@
+package com.github.sitture.envconfig;
+
+import com.github.sitture.envconfig.EnvConfigLoadPhases.Phase;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+/**
+ * Measures how long the config takes to load at startup, by load phase, in a fresh JVM for every run.
+ * The config is loaded from a generated config tree, a generated keepass database and a vault stand-in
+ * answering after a configurable latency, all set up once before the runs.
+ * Settings are given as {@code name=value} arguments, i.e. {@code runs=20 vault.latency=100 kdbx.version=3}, see
+ * {@link #getDefaults()}, and {@code env.config.*} arguments are passed on to the loading JVMs as system properties,
+ * i.e. {@code env.config.vault.read.parallelism=4}.
+ */
+@SuppressWarnings("PMD.SystemPrintln")
+public final class EnvConfigStartupBenchmark {
+
+    private static final String CONFIG_PREFIX = "env.config.";
+    private static final String ROW_FORMAT = "%-14s %10s %10s %10s%n";
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    private EnvConfigStartupBenchmark() {
+    }
+
+    public static void main(final String... args) throws IOException, InterruptedException {
+        final Map<String, String> settings = getSettings(args);
+        final Path directory = Files.createTempDirectory("env-config-startup");
+        try {
+            run(settings, directory);
+        } finally {
+            EnvConfigBenchmarkTree.delete(directory);
+        }
+    }
+
+    /**
+     * The settings and their defaults, the number of {@code runs} after {@code warmups} discarded runs,
+     * the config tree of {@link EnvConfigBenchmarkTree}, the {@link EnvConfigVaultStandIn} latency in milliseconds
+     * and number of keys of each secret, and the {@link EnvConfigKeepassFixture} version, entries and rounds.
+     *
+     * @return the default settings.
+     */
+    static Map<String, String> getDefaults() {
+        final Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("runs", "10");
+        defaults.put("warmups", "1");
+        defaults.put("files", "10");
+        defaults.put("keys", "1000");
+        defaults.put("depth", "3");
+        defaults.put("profiles", "false");
+        defaults.put("vault", "true");
+        defaults.put("vault.latency", "20");
+        defaults.put("vault.secrets", "100");
+        defaults.put("keepass", "true");
+        defaults.put("kdbx.version", "4");
+        defaults.put("kdbx.entries", "100");
+        defaults.put("kdbx.rounds", "0");
+        return defaults;
+    }
+
+    private static Map<String, String> getSettings(final String... args) {
+        final Map<String, String> settings = getDefaults();
+        for (final String arg : args) {
+            final int split = arg.indexOf('=');
+            final String name = split < 0 ? arg : arg.substring(0, split);
+            if (split < 0 || !name.startsWith(CONFIG_PREFIX) && !settings.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown setting '%s', use name=value with a name of %s or env.config.*"
+                    .formatted(arg, settings.keySet()));
+            }
+            settings.put(name, arg.substring(split + 1));
+        }
+        if (getInt(settings, "runs") <= 0) {
+            throw new IllegalArgumentException("At least 1 run is needed");
+        }
+        return settings;
+    }
+
+    private static void run(final Map<String, String> settings, final Path directory) throws IOException, InterruptedException {
+        final EnvConfigBenchmarkTree tree = new EnvConfigBenchmarkTree();
+        tree.files = getInt(settings, "files");
+        tree.keys = getInt(settings, "keys");
+        tree.depth = getInt(settings, "depth");
+        tree.profiles = Boolean.parseBoolean(settings.get("profiles"));
+        final Map<String, String> properties = new LinkedHashMap<>(tree.getProperties(tree.write(directory.resolve("config"))));
+        final Path classpathDir = directory.resolve("classpath");
+        if (Boolean.parseBoolean(settings.get("keepass"))) {
+            final EnvConfigKeepassFixture keepass = new EnvConfigKeepassFixture(getInt(settings, "kdbx.version"),
+                getInt(settings, "kdbx.entries"), Long.parseLong(settings.get("kdbx.rounds")));
+            keepass.write(classpathDir, tree.getEnvironments());
+            properties.putAll(keepass.getProperties());
+        }
+        try (EnvConfigVaultStandIn vault = Boolean.parseBoolean(settings.get("vault"))
+            ? new EnvConfigVaultStandIn(getInt(settings, "vault.latency"), getInt(settings, "vault.secrets"), tree.getEnvironments())
+            : null) {
+            if (null != vault) {
+                properties.putAll(vault.getProperties());
+            }
+            settings.forEach((name, value) -> {
+                if (name.startsWith(CONFIG_PREFIX)) {
+                    properties.put(name, value);
+                }
+            });
+            final List<String> command = getCommand(classpathDir, properties);
+            for (int i = 0; i < getInt(settings, "warmups"); i++) {
+                runOnce(command);
+            }
+            final List<long[]> runs = new ArrayList<>();
+            for (int i = 0; i < getInt(settings, "runs"); i++) {
+                runs.add(runOnce(command));
+            }
+            report(settings, runs);
+        }
+    }
+
+    private static List<String> getCommand(final Path classpathDir, final Map<String, String> properties) {
+        final List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path") + File.pathSeparator + classpathDir);
+        properties.forEach((name, value) -> command.add("-D" + name + "=" + value));
+        command.add(EnvConfigStartupProbe.class.getName());
+        return command;
+    }
+
+    /**
+     * Loads the config in a fresh JVM.
+     *
+     * @return the nanoseconds of each load phase, the total of the load and the lifetime of the JVM.
+     */
+    private static long[] runOnce(final List<String> command) throws IOException, InterruptedException {
+        final long start = System.nanoTime();
+        final Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        final String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        final int exitCode = process.waitFor();
+        final long elapsed = System.nanoTime() - start;
+        final String line = output.lines()
+            .filter(candidate -> candidate.startsWith(EnvConfigStartupProbe.MARKER))
+            .findFirst()
+            .orElse(null);
+        if (0 != exitCode || null == line) {
+            throw new IllegalStateException("Loading the config failed with exit code %d:%n%s".formatted(exitCode, output));
+        }
+        final long[] run = Arrays.copyOf(Arrays.stream(line.split(" ")).skip(1).mapToLong(Long::parseLong).toArray(),
+            Phase.values().length + 2);
+        run[run.length - 1] = elapsed;
+        return run;
+    }
+
+    private static void report(final Map<String, String> settings, final List<long[]> runs) {
+        final Phase[] phases = Phase.values();
+        System.out.printf("env-config startup, %d runs in a fresh JVM each, %s%n%n", runs.size(), settings);
+        System.out.printf(ROW_FORMAT, "phase", "median ms", "min ms", "max ms");
+        for (int i = 0; i < phases.length; i++) {
+            final int column = i;
+            printRow(phases[i].getLabel(), runs.stream().mapToLong(run -> run[column]));
+        }
+        printRow("other", runs.stream().mapToLong(run -> run[phases.length] - Arrays.stream(run, 0, phases.length).sum()));
+        printRow("total", runs.stream().mapToLong(run -> run[phases.length]));
+        printRow("jvm", runs.stream().mapToLong(run -> run[phases.length + 1]));
+    }
+
+    private static void printRow(final String name, final LongStream nanos) {
+        final long[] sorted = nanos.sorted().toArray();
+        System.out.printf(ROW_FORMAT, name, format(sorted[sorted.length / 2]), format(sorted[0]), format(sorted[sorted.length - 1]));
+    }
+
+    private static String format(final long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / NANOS_PER_MILLI);
+    }
+
+    private static int getInt(final Map<String, String> settings, final String name) {
+        return Integer.parseInt(settings.get(name));
+    }
+}
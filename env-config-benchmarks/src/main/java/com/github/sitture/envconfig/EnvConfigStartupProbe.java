@@ -0,0 +1,27 @@
+package com.github.sitture.envconfig;
+
+import com.github.sitture.envconfig.EnvConfigLoadPhases.Phase;
+
+/**
+ * Loads the config once and prints the time of each load phase and the total in nanoseconds,
+ * run in a fresh JVM for every run of {@link EnvConfigStartupBenchmark}.
+ */
+public final class EnvConfigStartupProbe {
+
+    static final String MARKER = "env-config-startup";
+
+    private EnvConfigStartupProbe() {
+    }
+
+    @SuppressWarnings("PMD.SystemPrintln")
+    public static void main(final String... args) {
+        final EnvConfigLoader loader = new EnvConfigLoader();
+        loader.close();
+        final EnvConfigLoadPhases phases = loader.getLoadPhases();
+        final StringBuilder line = new StringBuilder(MARKER);
+        for (final Phase phase : Phase.values()) {
+            line.append(' ').append(phases.getNanos(phase));
+        }
+        System.out.println(line.append(' ').append(phases.getTotalNanos()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.sitture.envconfig;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * A vault stand-in on a local WireMock server, answering the token lookup and one secret of {@code secrets} keys
+ * per environment, each after {@code latencyMillis}.
+ */
+final class EnvConfigVaultStandIn implements AutoCloseable {
+
+    private static final String SECRET_PATH = "bench/config";
+    private static final String NAMESPACE = "bench";
+    private static final String TOKEN = "bench";
+    private final WireMockServer server = new WireMockServer(WireMockConfiguration.options().dynamicPort());
+
+    EnvConfigVaultStandIn(final int latencyMillis, final int secrets, final List<String> environments) {
+        this.server.start();
+        this.server.stubFor(WireMock.get("/v1/auth/token/lookup-self")
+            .willReturn(WireMock.okJson("{\"data\": {\"policies\": [\"default\"]}}").withFixedDelay(latencyMillis)));
+        environments.forEach(environment -> this.server.stubFor(WireMock.get("/v1/bench/data/config/" + environment)
+            .willReturn(WireMock.okJson(getSecret(environment, secrets)).withFixedDelay(latencyMillis))));
+    }
+
+    /**
+     * Returns the system properties loading the secrets from the stand-in.
+     *
+     * @return the system properties.
+     */
+    Map<String, String> getProperties() {
+        final Map<String, String> properties = new LinkedHashMap<>();
+        properties.put(EnvConfigKey.CONFIG_VAULT_ENABLED.getProperty(), "true");
+        properties.put(EnvConfigKey.CONFIG_VAULT_ADDRESS.getProperty(), this.server.baseUrl());
+        properties.put(EnvConfigKey.CONFIG_VAULT_NAMESPACE.getProperty(), NAMESPACE);
+        properties.put(EnvConfigKey.CONFIG_VAULT_SECRET_PATH.getProperty(), SECRET_PATH);
+        properties.put(EnvConfigKey.CONFIG_VAULT_TOKEN.getProperty(), TOKEN);
+        return properties;
+    }
+
+    private static String getSecret(final String environment, final int secrets) {
+        return IntStream.range(0, secrets)
+            .mapToObj(i -> "\"bench.vault%d\": \"%s-vault-%d\"".formatted(i, environment, i))
+            .collect(Collectors.joining(", ", "{\"data\": {\"data\": {", "}}}"));
+    }
+
+    @Override
+    public void close() {
+        this.server.stop();
+    }
+}
@@ -0,0 +1,253 @@
+package com.github.sitture.envconfig.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates an implementation of each interface annotated with {@code @EnvConfigAccessor},
+ * named {@code EnvConfig_<InterfaceName>} in the package of the interface.
+ * The implementation converts the values of all keys into a record once per config snapshot,
+ * so each getter only reads a field of that record. Unsupported types, invalid default values
+ * and getters with parameters are reported as compile errors.
+ */
+@SupportedAnnotationTypes(EnvConfigAccessorProcessor.ACCESSOR_ANNOTATION)
+public final class EnvConfigAccessorProcessor extends AbstractProcessor {
+
+    static final String ACCESSOR_ANNOTATION = "com.github.sitture.envconfig.EnvConfigAccessor";
+    private static final String PROPERTY_ANNOTATION = "com.github.sitture.envconfig.EnvConfigProperty";
+    private static final String SUPPORT_CLASS = "com.github.sitture.envconfig.EnvConfigAccessorSupport";
+    private static final String CLASS_PREFIX = "EnvConfig_";
+    private static final Set<String> OBJECT_METHODS = Set.of("hashCode", "toString");
+    private static final Set<String> RESERVED_METHODS = Set.of("resolved", "getClass");
+    private static final Map<String, String> CONVERTERS = Map.of(
+        "java.lang.String", "String::trim",
+        "int", "Integer::valueOf",
+        "java.lang.Integer", "Integer::valueOf",
+        "long", "Long::valueOf",
+        "java.lang.Long", "Long::valueOf",
+        "double", "Double::valueOf",
+        "java.lang.Double", "Double::valueOf",
+        "boolean", "Boolean::valueOf",
+        "java.lang.Boolean", "Boolean::valueOf");
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment round) {
+        annotations.forEach(annotation -> round.getElementsAnnotatedWith(annotation).forEach(this::generate));
+        return true;
+    }
+
+    private void generate(final Element element) {
+        if (element.getKind() != ElementKind.INTERFACE) {
+            error(element, "@EnvConfigAccessor can only be used on interfaces");
+        } else if (!((TypeElement) element).getTypeParameters().isEmpty()) {
+            error(element, "@EnvConfigAccessor interfaces cannot have type parameters");
+        } else {
+            final TypeElement type = (TypeElement) element;
+            final String prefix = getAnnotationValue(type, ACCESSOR_ANNOTATION, "prefix")
+                .map(value -> (String) value.getValue())
+                .map(value -> value.isEmpty() || value.endsWith(".") ? value : value + ".")
+                .orElse("");
+            final List<Getter> getters = new ArrayList<>();
+            boolean valid = true;
+            for (final ExecutableElement method : ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+                if (method.getModifiers().contains(Modifier.ABSTRACT) && !OBJECT_METHODS.contains(method.getSimpleName().toString())) {
+                    final Getter getter = getGetter(prefix, method);
+                    valid &= null != getter;
+                    getters.add(getter);
+                }
+            }
+            if (valid) {
+                write(type, getters);
+            }
+        }
+    }
+
+    /**
+     * Returns the getter of a method, or null when the method was reported as invalid.
+     */
+    private Getter getGetter(final String prefix, final ExecutableElement method) {
+        final String name = method.getSimpleName().toString();
+        final List<?> defaultValues = getAnnotationValue(method, PROPERTY_ANNOTATION, "defaultValue")
+            .map(value -> (List<?>) value.getValue())
+            .orElse(List.of());
+        final String defaultValue = defaultValues.isEmpty() ? null : (String) ((AnnotationValue) defaultValues.get(0)).getValue();
+        final TypeMirror returnType = method.getReturnType();
+        final List<String> constants = getEnumConstants(returnType);
+        final String expression = getExpression(returnType.toString(), constants);
+        Getter getter = null;
+        if (!method.getParameters().isEmpty() || !method.getTypeParameters().isEmpty() || RESERVED_METHODS.contains(name)) {
+            error(method, "@EnvConfigAccessor methods must be getters without parameters, not named " + RESERVED_METHODS);
+        } else if (defaultValues.size() > 1) {
+            error(method, "Only a single default value can be set");
+        } else if (null == expression) {
+            error(method, "Unsupported return type " + returnType + ", use String, int, long, double, boolean, "
+                + "their boxed types, an enum or List<String>");
+        } else if (null != defaultValue && !isValidDefault(returnType.toString(), constants, defaultValue.trim())) {
+            error(method, "Invalid default value '%s' for return type %s".formatted(defaultValue, returnType));
+        } else {
+            final String key = getAnnotationValue(method, PROPERTY_ANNOTATION, "value")
+                .map(value -> (String) value.getValue())
+                .filter(value -> !value.isEmpty())
+                .map(value -> constant(prefix + value))
+                .orElseGet(() -> (prefix.isEmpty() ? "" : constant(prefix) + " + ") + "getKey(" + constant(name) + ")");
+            final boolean required = returnType.getKind().isPrimitive() && null == defaultValue;
+            getter = new Getter(name, returnType.toString(), key, defaultValue,
+                required ? "require(KEYS[%1$d], " + expression + ")" : expression);
+        }
+        return getter;
+    }
+
+    /**
+     * Returns the expression converting the value of a slot to the given type, or null when the type is not supported.
+     */
+    private static String getExpression(final String typeName, final List<String> constants) {
+        String expression = null;
+        if (CONVERTERS.containsKey(typeName)) {
+            expression = "convert(KEYS[%1$d], values[%1$d], " + CONVERTERS.get(typeName) + ")";
+        } else if (null != constants) {
+            expression = "convert(KEYS[%1$d], values[%1$d], " + typeName + "::valueOf)";
+        } else if ("java.util.List<java.lang.String>".equals(typeName)) {
+            expression = "toList(values[%1$d])";
+        }
+        return expression;
+    }
+
+    private void write(final TypeElement type, final List<Getter> getters) {
+        final String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        final String simpleName = CLASS_PREFIX + getNestedName(type);
+        final String className = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(className, type).openWriter()) {
+            writer.write(getSource(packageName, simpleName, type.getQualifiedName().toString(), getters));
+        } catch (IOException e) {
+            error(type, "Could not write " + className + ": " + e.getMessage());
+        }
+    }
+
+    private String getSource(final String packageName, final String simpleName, final String interfaceName, final List<Getter> getters) {
+        final StringBuilder source = new StringBuilder(1024);
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n")
+            .append("public final class ").append(simpleName)
+            .append(" extends ").append(SUPPORT_CLASS).append('<').append(simpleName).append(".Values>")
+            .append(" implements ").append(interfaceName).append(" {\n\n")
+            .append("    private static final String[] KEYS = {")
+            .append(getters.stream().map(Getter::key).collect(Collectors.joining(", ")))
+            .append("};\n")
+            .append("    private static final String[] DEFAULT_VALUES = {")
+            .append(getters.stream().map(getter -> constant(getter.defaultValue())).collect(Collectors.joining(", ")))
+            .append("};\n\n")
+            .append("    public ").append(simpleName).append("() {\n")
+            .append("        super(KEYS, DEFAULT_VALUES);\n")
+            .append("    }\n");
+        for (int i = 0; i < getters.size(); i++) {
+            final Getter getter = getters.get(i);
+            source.append("\n    @Override\n")
+                .append("    public ").append(getter.type()).append(' ').append(getter.name()).append("() {\n")
+                .append("        return resolved(").append(i).append(").").append(getter.name()).append("();\n")
+                .append("    }\n");
+        }
+        source.append("\n    @Override\n")
+            .append("    protected Values create(final String... values) {\n")
+            .append("        return new Values(");
+        for (int i = 0; i < getters.size(); i++) {
+            source.append(i == 0 ? "\n            " : ",\n            ").append(getters.get(i).expression().formatted(i));
+        }
+        source.append(");\n")
+            .append("    }\n\n")
+            .append("    record Values(")
+            .append(getters.stream().map(getter -> getter.type() + " " + getter.name()).collect(Collectors.joining(", ")))
+            .append(") {\n")
+            .append("    }\n")
+            .append("}\n");
+        return source.toString();
+    }
+
+    private String constant(final String value) {
+        return null == value ? "null" : processingEnv.getElementUtils().getConstantExpression(value);
+    }
+
+    private static boolean isValidDefault(final String typeName, final List<String> constants, final String value) {
+        boolean valid = true;
+        try {
+            switch (typeName) {
+                case "int", "java.lang.Integer" -> Integer.parseInt(value);
+                case "long", "java.lang.Long" -> Long.parseLong(value);
+                case "double", "java.lang.Double" -> Double.parseDouble(value);
+                default -> valid = null == constants || constants.contains(value);
+            }
+        } catch (NumberFormatException e) {
+            valid = false;
+        }
+        return valid;
+    }
+
+    private static List<String> getEnumConstants(final TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && ((DeclaredType) type).asElement().getKind() == ElementKind.ENUM
+            ? ((DeclaredType) type).asElement().getEnclosedElements().stream()
+                .filter(element -> element.getKind() == ElementKind.ENUM_CONSTANT)
+                .map(element -> element.getSimpleName().toString())
+                .toList()
+            : null;
+    }
+
+    private static String getNestedName(final TypeElement type) {
+        final Element enclosing = type.getEnclosingElement();
+        return enclosing instanceof TypeElement outer
+            ? getNestedName(outer) + "_" + type.getSimpleName()
+            : type.getSimpleName().toString();
+    }
+
+    private Optional<AnnotationValue> getAnnotationValue(final Element element, final String annotation, final String name) {
+        return element.getAnnotationMirrors().stream()
+            .filter(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotation))
+            .findFirst()
+            .flatMap(mirror -> getElementValue(mirror, name));
+    }
+
+    private static Optional<AnnotationValue> getElementValue(final AnnotationMirror mirror, final String name) {
+        return mirror.getElementValues().entrySet().stream()
+            .filter(entry -> entry.getKey().getSimpleName().contentEquals(name))
+            .map(Map.Entry::getValue)
+            .map(AnnotationValue.class::cast)
+            .findFirst();
+    }
+
+    private void error(final Element element, final String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    /**
+     * A getter, with the expression of its key, which is derived at runtime as record components are unless it is named.
+     */
+    private record Getter(String name, String type, String key, String defaultValue, String expression) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.github.sitture.envconfig.processor;
+
+import com.github.sitture.envconfig.EnvConfig;
+import com.github.sitture.envconfig.EnvConfigException;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EnvConfigAccessorProcessorTest {
+
+    private static final String POOL_CONFIG = String.join("\n",
+        "package example;",
+        "",
+        "import com.github.sitture.envconfig.EnvConfigAccessor;",
+        "import com.github.sitture.envconfig.EnvConfigProperty;",
+        "import java.util.List;",
+        "",
+        "@EnvConfigAccessor(prefix = \"db.pool\")",
+        "public interface PoolConfig {",
+        "    String url();",
+        "    @EnvConfigProperty(defaultValue = \"10\") int maxSize();",
+        "    @EnvConfigProperty(\"idle\") Long idleTimeout();",
+        "    boolean enabled();",
+        "    List<String> hosts();",
+        "    @EnvConfigProperty(defaultValue = \"READ\") Mode mode();",
+        "    default String name() {",
+        "        return \"pool\";",
+        "    }",
+        "    enum Mode { READ, WRITE }",
+        "}");
+    private static final List<String> KEYS = List.of("db.pool.url", "db.pool.max.size", "db.pool.idle", "db.pool.enabled", "db.pool.hosts");
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void tearDown() {
+        KEYS.forEach(EnvConfig::clear);
+    }
+
+    @Test
+    void testGeneratesAccessorReadingConfig() throws Exception {
+        final Object pool = newAccessor("example.PoolConfig", POOL_CONFIG);
+        EnvConfig.set("db.pool.url", " jdbc:h2:mem ");
+        EnvConfig.set("db.pool.idle", "30000");
+        EnvConfig.set("db.pool.enabled", "true");
+        EnvConfig.set("db.pool.hosts", "one, two");
+        Assertions.assertEquals("jdbc:h2:mem", get(pool, "url"));
+        Assertions.assertEquals(10, get(pool, "maxSize"));
+        Assertions.assertEquals(30_000L, get(pool, "idleTimeout"));
+        Assertions.assertEquals(true, get(pool, "enabled"));
+        Assertions.assertEquals(List.of("one", "two"), get(pool, "hosts"));
+        Assertions.assertEquals("READ", get(pool, "mode").toString());
+        Assertions.assertEquals("pool", get(pool, "name"));
+        // values are converted once per config snapshot
+        Assertions.assertSame(get(pool, "url"), get(pool, "url"));
+        EnvConfig.set("db.pool.max.size", "20");
+        Assertions.assertEquals(20, get(pool, "maxSize"));
+    }
+
+    @Test
+    void testMissingRequiredPrimitiveThrows() throws Exception {
+        final Object pool = newAccessor("example.PoolConfig", POOL_CONFIG);
+        final InvocationTargetException exception = Assertions.assertThrows(InvocationTargetException.class, () -> get(pool, "url"));
+        Assertions.assertEquals(EnvConfigException.class, exception.getCause().getClass());
+        Assertions.assertEquals("Missing required key 'db.pool.enabled'", exception.getCause().getMessage());
+    }
+
+    @Test
+    void testReportsInvalidGetters() throws IOException {
+        final String errors = getErrors("example.Invalid", String.join("\n",
+            "package example;",
+            "",
+            "import com.github.sitture.envconfig.EnvConfigAccessor;",
+            "import com.github.sitture.envconfig.EnvConfigProperty;",
+            "",
+            "@EnvConfigAccessor",
+            "public interface Invalid {",
+            "    Object value();",
+            "    @EnvConfigProperty(defaultValue = \"ten\") int count();",
+            "    String named(String name);",
+            "}"));
+        Assertions.assertTrue(errors.contains("Unsupported return type java.lang.Object"), errors);
+        Assertions.assertTrue(errors.contains("Invalid default value 'ten' for return type int"), errors);
+        Assertions.assertTrue(errors.contains("must be getters without parameters"), errors);
+        Assertions.assertFalse(Files.exists(directory.resolve("example/EnvConfig_Invalid.class")));
+    }
+
+    @Test
+    void testReportsAnnotatedClass() throws IOException {
+        final String errors = getErrors("example.NotAnInterface", String.join("\n",
+            "package example;",
+            "",
+            "@com.github.sitture.envconfig.EnvConfigAccessor",
+            "public class NotAnInterface {",
+            "}"));
+        Assertions.assertTrue(errors.contains("@EnvConfigAccessor can only be used on interfaces"), errors);
+    }
+
+    private Object newAccessor(final String interfaceName, final String source) throws Exception {
+        final String errors = getErrors(interfaceName, source);
+        Assertions.assertTrue(errors.isEmpty(), errors);
+        final int split = interfaceName.lastIndexOf('.');
+        final String className = interfaceName.substring(0, split + 1) + "EnvConfig_" + interfaceName.substring(split + 1);
+        final URLClassLoader loader = new URLClassLoader(new URL[] {directory.toUri().toURL()}, getClass().getClassLoader());
+        return loader.loadClass(className).getConstructor().newInstance();
+    }
+
+    private static Object get(final Object accessor, final String getter) throws ReflectiveOperationException {
+        return accessor.getClass().getMethod(getter).invoke(accessor);
+    }
+
+    private String getErrors(final String className, final String source) throws IOException {
+        final Path file = directory.resolve(className.replace('.', '/') + ".java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, source);
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+                List.of("-classpath", System.getProperty("java.class.path"), "-d", directory.toString()),
+                null, files.getJavaFileObjects(file));
+            task.setProcessors(List.of(new EnvConfigAccessorProcessor()));
+            task.call();
+        }
+        return diagnostics.getDiagnostics().stream()
+            .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+            .map(diagnostic -> diagnostic.getMessage(null))
+            .collect(Collectors.joining("\n"));
+    }
+}
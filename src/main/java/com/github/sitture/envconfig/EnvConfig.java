@@ -1,46 +1,88 @@
 package com.github.sitture.envconfig;
 
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Set;
 import java.util.TreeMap;
-import org.apache.commons.configuration2.CompositeConfiguration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 public final class EnvConfig extends EnvConfigLoader {
 
-    private static EnvConfig config;
+    private static final AtomicReference<EnvConfig> CONFIG = new AtomicReference<>();
+    private static final AtomicReference<EnvConfig> PREVIOUS = new AtomicReference<>();
 
     private EnvConfig() {
         super();
     }
 
+    /**
+     * Discards the current config, so it is reloaded on next use.
+     * The discarded config is kept until then, so listeners can be notified of the keys the reload changed.
+     */
     static void reset() {
         synchronized (EnvConfig.class) {
-            config = null;
+            final EnvConfig previous = CONFIG.getAndSet(null);
+            if (null != previous) {
+                previous.close();
+                PREVIOUS.compareAndSet(null, previous);
+            }
         }
     }
 
     /**
      * Creates an instance of Config class or returns already created.
+     * Only the first initialisation (or the first after a reset) takes the lock,
+     * reads of an already created instance are lock-free.
      *
      * @return instance of Config
      */
     static EnvConfig getConfig() {
-        synchronized (EnvConfig.class) {
-            if (config == null) {
-                config = new EnvConfig();
+        EnvConfig instance = CONFIG.get();
+        if (instance == null) {
+            synchronized (EnvConfig.class) {
+                instance = CONFIG.get();
+                if (instance == null) {
+                    instance = new EnvConfig();
+                    CONFIG.set(instance);
+                    publishReset(PREVIOUS.getAndSet(null), instance);
+                }
             }
         }
-        return config;
+        return instance;
+    }
+
+    private static void publishReset(final EnvConfig previous, final EnvConfig current) {
+        if (null != previous && !LISTENERS.isEmpty()) {
+            final Set<String> keys = new HashSet<>();
+            previous.configuration.getKeys().forEachRemaining(keys::add);
+            current.configuration.getKeys().forEachRemaining(keys::add);
+            LISTENERS.publish(EnvConfigChange.of(keys, previous::getValue, current::getValue));
+        }
     }
 
     /**
-     * Returns the composite configuration.
+     * Registers a listener to be notified of the keys whose values change, e.g. after a property is set or cleared,
+     * a reset or a reload of property files or vault secrets.
+     * Listeners stay registered across resets and are notified on a background thread.
      *
-     * @return the configuration object.
+     * @param listener the listener
      */
-    private static CompositeConfiguration getConfiguration() {
-        return getConfig().configuration;
+    public static void addListener(final EnvConfigListener listener) {
+        LISTENERS.add(listener);
+    }
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener the listener
+     */
+    public static void removeListener(final EnvConfigListener listener) {
+        LISTENERS.remove(listener);
     }
 
     /**
@@ -49,7 +91,7 @@ public final class EnvConfig extends EnvConfigLoader {
      * @param property Name of the property to clear
      */
     public static void clear(final String property) {
-        getConfiguration().clearProperty(property);
+        getConfig().clearProperty(property);
     }
 
     /**
@@ -59,7 +101,7 @@ public final class EnvConfig extends EnvConfigLoader {
      * @param value    value of the config entry
      */
     public static void set(final String property, final Object value) {
-        getConfiguration().setProperty(property, value);
+        getConfig().setProperty(property, value);
     }
 
     /**
@@ -69,11 +111,7 @@ public final class EnvConfig extends EnvConfigLoader {
      * @param value    value of the config entry
      */
     public static void add(final String property, final Object value) {
-        getConfiguration().addProperty(property, value);
-    }
-
-    private static Optional<String> getProperty(final String property) {
-        return Optional.ofNullable(getConfiguration().getString(property));
+        getConfig().addProperty(property, value);
     }
 
     /**
@@ -84,8 +122,11 @@ public final class EnvConfig extends EnvConfigLoader {
      * @throws EnvConfigException if property does not exist.
      */
     public static String getOrThrow(final String property) {
-        return getProperty(property)
-            .orElseThrow(() -> new EnvConfigException("Missing required key '" + property + "'"));
+        final String value = getConfig().getValue(property);
+        if (null == value) {
+            throw new EnvConfigException("Missing required key '" + property + "'");
+        }
+        return value;
     }
 
     /**
@@ -95,7 +136,8 @@ public final class EnvConfig extends EnvConfigLoader {
      * @return property value.
      */
     public static String get(final String property) {
-        return getProperty(property).map(String::trim).orElse(null);
+        final String value = getConfig().getValue(property);
+        return null == value ? null : value.trim();
     }
 
     /**
@@ -106,7 +148,8 @@ public final class EnvConfig extends EnvConfigLoader {
      * @return property value.
      */
     public static String get(final String property, final String defaultValue) {
-        return getProperty(property).orElse(defaultValue);
+        final String value = getConfig().getValue(property);
+        return null == value ? defaultValue : value;
     }
 
     /**
@@ -116,7 +159,43 @@ public final class EnvConfig extends EnvConfigLoader {
      * @return property value.
      */
     public static int getInt(final String property) {
-        return getProperty(property).map(Integer::parseInt).orElse(-1);
+        return getInt(property, -1);
+    }
+
+    /**
+     * Get property from file, parsed as int.
+     *
+     * @param property     property name.
+     * @param defaultValue default value if not set
+     * @return property value.
+     */
+    public static int getInt(final String property, final int defaultValue) {
+        final Integer value = getConfig().getValue(property, Integer.class, Integer::parseInt);
+        return null == value ? defaultValue : value;
+    }
+
+    /**
+     * Get property from file, parsed as long.
+     *
+     * @param property     property name.
+     * @param defaultValue default value if not set
+     * @return property value.
+     */
+    public static long getLong(final String property, final long defaultValue) {
+        final Long value = getConfig().getValue(property, Long.class, Long::parseLong);
+        return null == value ? defaultValue : value;
+    }
+
+    /**
+     * Get property from file, parsed as double.
+     *
+     * @param property     property name.
+     * @param defaultValue default value if not set
+     * @return property value.
+     */
+    public static double getDouble(final String property, final double defaultValue) {
+        final Double value = getConfig().getValue(property, Double.class, Double::parseDouble);
+        return null == value ? defaultValue : value;
     }
 
     /**
@@ -126,7 +205,19 @@ public final class EnvConfig extends EnvConfigLoader {
      * @return a Boolean representing the value, false if the value not present
      */
     public static boolean getBool(final String property) {
-        return getProperty(property).map(Boolean::parseBoolean).orElse(false);
+        return getBool(property, false);
+    }
+
+    /**
+     * Returns a key/value from a named config, parsed as Boolean.
+     *
+     * @param property     the property
+     * @param defaultValue default value if not set
+     * @return a Boolean representing the value, the default value if the value not present
+     */
+    public static boolean getBool(final String property, final boolean defaultValue) {
+        final Boolean value = getConfig().getValue(property, Boolean.class, Boolean::parseBoolean);
+        return null == value ? defaultValue : value;
     }
 
     /**
@@ -149,7 +240,9 @@ public final class EnvConfig extends EnvConfigLoader {
      * @return a list of strings
      */
     public static List<String> getList(final String property, final String delimiter) {
-        return EnvConfigUtils.getListOfValues(get(property), delimiter);
+        final List<String> values = getConfig().getValue(property, delimiter,
+            value -> EnvConfigUtils.getListOfValues(value.trim(), delimiter));
+        return null == values ? EnvConfigUtils.getListOfValues(null, delimiter) : values;
     }
 
     /**
@@ -161,15 +254,115 @@ public final class EnvConfig extends EnvConfigLoader {
         return getConfig().configProperties.getCurrentEnvironment();
     }
 
+    /**
+     * Returns the keys starting with the given prefix, sorted.
+     * Keys are looked up in a sorted index of the config, so only the matching keys are visited.
+     *
+     * @param prefix the prefix, i.e. {@code db.pool.}
+     * @return the matching keys.
+     */
+    public static List<String> keys(final String prefix) {
+        return getConfig().getKeys(prefix).sorted().toList();
+    }
+
+    /**
+     * Returns the properties under the given namespace with their values, as returned by {@link #get(String)}, sorted by key.
+     * Keys are returned without the namespace, i.e. {@code size} for {@code db.pool.size} under {@code db.pool}.
+     *
+     * @param prefix the namespace, i.e. {@code db.pool}
+     * @return the properties under the namespace.
+     */
+    public static Map<String, String> getSubset(final String prefix) {
+        final String namespace = getNamespace(prefix);
+        final EnvConfig config = getConfig();
+        final Map<String, String> subset = new TreeMap<>();
+        config.getKeys(namespace).forEach(key -> {
+            final String value = config.getValue(key);
+            if (null != value) {
+                subset.put(key.substring(namespace.length()), value.trim());
+            }
+        });
+        return subset;
+    }
+
+    /**
+     * Binds the properties under the given namespace to the components of a record.
+     * Each component is bound to the property named after it, with camel case words separated by dots, and converted to its type,
+     * i.e. component {@code int maxSize} of a record bound to {@code db.pool} is read from {@code db.pool.max.size},
+     * or {@code DB_POOL_MAX_SIZE} as an environment variable, and falls back to {@code db.pool.maxsize}.
+     * Components can be strings, {@code int}, {@code long}, {@code double}, {@code boolean} and their boxed types,
+     * enums, lists of strings with comma separated values, or records bound to their own namespace, i.e. {@code db.pool.timeouts}.
+     * Missing values bind as null, or an empty list, except for primitive components.
+     * The bound record is cached until a property under the namespace changes.
+     *
+     * @param prefix the namespace, i.e. {@code db.pool} or {@code DB_POOL}
+     * @param type   the record class
+     * @param <T>    the type of the record
+     * @return the bound record.
+     * @throws EnvConfigException if a primitive component is missing, a value cannot be converted, or a component type is not supported.
+     */
+    public static <T extends Record> T bind(final String prefix, final Class<T> type) {
+        return getConfig().getBinding(getNamespace(EnvConfigUtils.getProcessedPropertyKey(prefix)), type);
+    }
+
+    /**
+     * Returns all properties with their values, sorted by key.
+     * Keys whose value resolves to null are included with a null value.
+     *
+     * @return the properties.
+     * @see #stream()
+     */
     public static Map<String, Object> asMap() {
         final Map<String, Object> propertiesMap = new TreeMap<>();
-        getConfiguration().getKeys().forEachRemaining(key -> propertiesMap.put(key, get(key)));
+        getConfig().configuration.getKeys().forEachRemaining(key -> propertiesMap.put(key, get(key)));
         return propertiesMap;
     }
 
+    /**
+     * Streams all properties with their values, as returned by {@link #get(String)}, in no particular order.
+     * Each property is resolved once, without building a sorted copy of the config as {@link #asMap()} does.
+     * Unlike {@link #asMap()}, keys whose value resolves to null are left out.
+     *
+     * @return the properties.
+     */
+    public static Stream<Map.Entry<String, String>> stream() {
+        return getConfig().getValues()
+            .map(entry -> new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().trim()));
+    }
+
+    /**
+     * Calls the visitor with each property and its value, as returned by {@link #get(String)}, in no particular order.
+     *
+     * @param visitor the visitor, called with the key and the value.
+     * @see #stream()
+     */
+    public static void forEach(final BiConsumer<String, String> visitor) {
+        stream().forEach(entry -> visitor.accept(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Writes all properties with their values to the output in the given format, in no particular order.
+     * Properties are written as they are resolved, without building a copy of the config first.
+     *
+     * @param output the output, e.g. a {@link java.io.Writer} or {@link StringBuilder}.
+     * @param format the format to write.
+     * @throws EnvConfigException if the output cannot be written to.
+     */
+    public static void export(final Appendable output, final EnvConfigFormat format) {
+        try {
+            format.write(stream().iterator(), output);
+        } catch (IOException e) {
+            throw new EnvConfigException(e);
+        }
+    }
+
+    private static String getNamespace(final String prefix) {
+        return prefix.isEmpty() || prefix.endsWith(".") ? prefix : prefix + ".";
+    }
+
     @Override
     public String toString() {
-        return asMap().toString().replaceAll(", ", "\n");
+        return asMap().toString().replace(", ", "\n");
     }
 
 }
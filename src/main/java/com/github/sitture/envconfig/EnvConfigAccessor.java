@@ -0,0 +1,29 @@
+package com.github.sitture.envconfig;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface for the {@code env-config-processor} annotation processor, which generates an implementation
+ * named {@code EnvConfig_<InterfaceName>} in the same package, with a getter for each abstract method of the interface.
+ * Each getter returns the value of a property, i.e. {@code db.pool.max.size} for {@code int maxSize()} with prefix {@code db.pool},
+ * converted when the config changes rather than on every call.
+ *
+ * @see EnvConfigProperty
+ * @see EnvConfigAccessorSupport
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface EnvConfigAccessor {
+
+    /**
+     * The namespace of the properties, prepended to the key of each getter.
+     *
+     * @return the namespace, i.e. {@code db.pool}, or empty for none.
+     */
+    String prefix() default "";
+}
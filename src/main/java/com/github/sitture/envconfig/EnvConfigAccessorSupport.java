@@ -0,0 +1,143 @@
+package com.github.sitture.envconfig;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Base class of the implementations generated for {@link EnvConfigAccessor} interfaces.
+ * The values of all keys are converted into a single values object, one field per key, once per config snapshot,
+ * so a getter is a read of that field for as long as the config does not change.
+ * Values are converted on every call instead while any of the keys is resolved on read,
+ * i.e. a system property or an interpolated value.
+ * A system property set after the values were converted is picked up by the getter of its key,
+ * which only checks its own key, so a getter costs a single system property lookup besides the field read.
+ *
+ * @param <V> the type of the values object
+ */
+public abstract class EnvConfigAccessorSupport<V> {
+
+    private final String[] keys;
+    private final String[] defaultValues;
+    private final AtomicReference<State<V>> state = new AtomicReference<>();
+
+    /**
+     * @param keys          the key of each field of the values object, by slot
+     * @param defaultValues the default value of each key, or null for none
+     */
+    protected EnvConfigAccessorSupport(final String[] keys, final String[] defaultValues) {
+        this.keys = keys.clone();
+        this.defaultValues = defaultValues.clone();
+    }
+
+    /**
+     * Returns the values object, converted from the current config snapshot.
+     * The values are converted again when the key of the slot has since been shadowed by a system property.
+     * Keys resolved on read when the values were converted are already converted on every call.
+     *
+     * @param slot the slot of the calling getter
+     * @return the values object.
+     */
+    protected final V resolved(final int slot) {
+        final State<V> current = this.state.get();
+        final EnvConfig config = EnvConfig.getConfig();
+        return null != current && current.isResolvedFrom(config) && !config.isSystemProperty(this.keys[slot])
+            ? current.values()
+            : resolve(config);
+    }
+
+    private boolean isResolvedOnRead(final EnvConfig config) {
+        boolean resolvedOnRead = false;
+        for (int i = 0; !resolvedOnRead && i < this.keys.length; i++) {
+            resolvedOnRead = config.isResolvedOnRead(this.keys[i]);
+        }
+        return resolvedOnRead;
+    }
+
+    /**
+     * Creates the values object from the values of the keys.
+     *
+     * @param values the value of each key by slot, or its default value, or null when not present
+     * @return the values object.
+     */
+    protected abstract V create(String... values);
+
+    /**
+     * Converts the trimmed value of a key.
+     *
+     * @param key       the key
+     * @param value     the value or null when not present
+     * @param converter the converter
+     * @param <T>       the target type
+     * @return the converted value or null when not present.
+     * @throws EnvConfigException if the value cannot be converted.
+     */
+    protected static <T> T convert(final String key, final String value, final Function<String, T> converter) {
+        try {
+            return null == value ? null : converter.apply(value.trim());
+        } catch (IllegalArgumentException e) {
+            throw new EnvConfigException("Invalid value for key '%s'".formatted(key), e);
+        }
+    }
+
+    /**
+     * Checks that a value is present.
+     *
+     * @param key   the key
+     * @param value the value
+     * @param <T>   the type of the value
+     * @return the value.
+     * @throws EnvConfigException if the value is null.
+     */
+    protected static <T> T require(final String key, final T value) {
+        if (null == value) {
+            throw new EnvConfigException("Missing required key '" + key + "'");
+        }
+        return value;
+    }
+
+    /**
+     * Returns the key of a getter, with its camel case words separated by dots, i.e. {@code max.size} for {@code maxSize},
+     * as record components are bound.
+     *
+     * @param name the getter name
+     * @return the key.
+     */
+    protected static String getKey(final String name) {
+        return EnvConfigUtils.getCamelCaseKey(name);
+    }
+
+    /**
+     * Splits a comma separated value.
+     *
+     * @param value the value or null when not present
+     * @return the trimmed values, empty when not present.
+     */
+    protected static List<String> toList(final String value) {
+        return EnvConfigUtils.getListOfValues(null == value ? null : value.trim(), EnvConfigUtils.CONFIG_DELIMITER_DEFAULT);
+    }
+
+    private V resolve(final EnvConfig config) {
+        final EnvConfigSnapshot snapshot = config.getSnapshot();
+        final String[] values = new String[this.keys.length];
+        for (int i = 0; i < values.length; i++) {
+            final String value = config.getValue(this.keys[i]);
+            values[i] = null == value ? this.defaultValues[i] : value;
+        }
+        final V resolved = create(values);
+        this.state.set(new State<>(config, isResolvedOnRead(config) ? null : snapshot, resolved));
+        return resolved;
+    }
+
+    /**
+     * The values object and the config snapshot it was converted from, null when it is converted on every call.
+     */
+    private record State<V>(EnvConfigLoader config, EnvConfigSnapshot snapshot, V values) {
+
+        @SuppressWarnings("PMD.CompareObjectsWithEquals")
+        boolean isResolvedFrom(final EnvConfigLoader current) {
+            return config == current && snapshot == current.getSnapshot();
+        }
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.github.sitture.envconfig;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Binds the properties under a namespace to the components of a record.
+ * A binder is built once per record class, with the canonical constructor looked up as a {@link MethodHandle},
+ * so binding a record again, i.e. after a reload, does not use reflection.
+ *
+ * @param <T> the type of the record
+ */
+final class EnvConfigBinder<T extends Record> {
+
+    private static final ClassValue<EnvConfigBinder<?>> BINDERS = new ClassValue<>() {
+        @Override
+        protected EnvConfigBinder<?> computeValue(final Class<?> type) {
+            return new EnvConfigBinder<>(type.asSubclass(Record.class));
+        }
+    };
+    private static final Map<Class<?>, Function<String, Object>> CONVERTERS = Map.of(
+        String.class, value -> value,
+        int.class, Integer::valueOf,
+        Integer.class, Integer::valueOf,
+        long.class, Long::valueOf,
+        Long.class, Long::valueOf,
+        double.class, Double::valueOf,
+        Double.class, Double::valueOf,
+        boolean.class, Boolean::valueOf,
+        Boolean.class, Boolean::valueOf);
+
+    private final Class<T> type;
+    private final MethodHandle constructor;
+    private final List<Component> components;
+
+    private EnvConfigBinder(final Class<T> type) {
+        this.type = type;
+        final RecordComponent[] recordComponents = type.getRecordComponents();
+        final Class<?>[] parameterTypes = Arrays.stream(recordComponents).map(RecordComponent::getType).toArray(Class<?>[]::new);
+        try {
+            this.constructor = MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                .findConstructor(type, MethodType.methodType(void.class, parameterTypes))
+                .asSpreader(Object[].class, parameterTypes.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (ReflectiveOperationException | IllegalArgumentException e) {
+            throw new EnvConfigException("Could not access the constructor of record %s".formatted(type.getName()), e);
+        }
+        this.components = Arrays.stream(recordComponents).map(component -> Component.of(type, component)).toList();
+    }
+
+    /**
+     * Returns the binder of a record class, building it on first use.
+     *
+     * @param type the record class
+     * @param <T>  the type of the record
+     * @return the binder.
+     * @throws EnvConfigException if a record component has an unsupported type.
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends Record> EnvConfigBinder<T> of(final Class<T> type) {
+        return (EnvConfigBinder<T>) BINDERS.get(type);
+    }
+
+    /**
+     * Creates a record from the properties under a namespace.
+     * Each component is bound to the property named after it within the namespace, i.e. {@code db.pool.max.size}
+     * for component {@code maxSize} under {@code db.pool.}, or else {@code db.pool.maxsize}.
+     * Components that are records are bound to the properties under their own namespace, i.e. {@code db.pool.timeouts.}.
+     *
+     * @param namespace the namespace, empty or ending with a dot
+     * @param values    returns the value of a key, or null when not present
+     * @return the record.
+     * @throws EnvConfigException if a value is missing for a primitive component or cannot be converted.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingThrowable")
+    T bind(final String namespace, final Function<String, String> values) {
+        final Object[] arguments = new Object[this.components.size()];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = this.components.get(i).read(namespace, values);
+        }
+        try {
+            return this.type.cast(this.constructor.invokeExact(arguments));
+        } catch (EnvConfigException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new EnvConfigException("Could not bind '%s' to record %s".formatted(namespace, this.type.getName()), e);
+        }
+    }
+
+    /**
+     * Returns the keys the components of a record are bound from under a namespace, those of nested records included.
+     *
+     * @param namespace the namespace, empty or ending with a dot
+     * @return the keys, fallback keys included.
+     */
+    Stream<String> getKeys(final String namespace) {
+        return this.components.stream().flatMap(component -> component.getKeys(namespace));
+    }
+
+    private record Component(String key, String fallbackKey, Class<?> type, Function<String, Object> converter,
+                             EnvConfigBinder<?> binder) {
+
+        static Component of(final Class<?> recordType, final RecordComponent component) {
+            final String key = EnvConfigUtils.getCamelCaseKey(component.getName());
+            final String lowerCase = component.getName().toLowerCase(Locale.ROOT);
+            final String fallbackKey = key.equals(lowerCase) ? null : lowerCase;
+            final Class<?> type = component.getType();
+            final Component bound;
+            if (type.isRecord()) {
+                bound = new Component(key, null, type, null, EnvConfigBinder.of(type.asSubclass(Record.class)));
+            } else if (type.isEnum()) {
+                bound = new Component(key, fallbackKey, type, value -> toEnum(type, value), null);
+            } else if (List.class.equals(type) && isListOfStrings(component.getGenericType())) {
+                bound = new Component(key, fallbackKey, type,
+                    value -> EnvConfigUtils.getListOfValues(value, EnvConfigUtils.CONFIG_DELIMITER_DEFAULT), null);
+            } else if (CONVERTERS.containsKey(type)) {
+                bound = new Component(key, fallbackKey, type, CONVERTERS.get(type), null);
+            } else {
+                throw new EnvConfigException("Unsupported type %s of component '%s' of record %s".formatted(
+                    component.getGenericType().getTypeName(), component.getName(), recordType.getName()));
+            }
+            return bound;
+        }
+
+        Object read(final String namespace, final Function<String, String> values) {
+            return null == this.binder
+                ? convert(namespace, values)
+                : this.binder.bind(namespace + this.key + '.', values);
+        }
+
+        Stream<String> getKeys(final String namespace) {
+            return null == this.binder
+                ? Stream.concat(Stream.of(this.key), Stream.ofNullable(this.fallbackKey)).map(namespace::concat)
+                : this.binder.getKeys(namespace + this.key + '.');
+        }
+
+        private Object convert(final String namespace, final Function<String, String> values) {
+            final String key = namespace + this.key;
+            String value = values.apply(key);
+            if (null == value && null != this.fallbackKey) {
+                value = values.apply(namespace + this.fallbackKey);
+            }
+            final Object converted;
+            if (null == value) {
+                converted = getMissingValue(key);
+            } else {
+                try {
+                    converted = this.converter.apply(value.trim());
+                } catch (IllegalArgumentException e) {
+                    throw new EnvConfigException("Invalid value for key '%s' of type %s".formatted(key, this.type.getSimpleName()), e);
+                }
+            }
+            return converted;
+        }
+
+        private Object getMissingValue(final String key) {
+            if (this.type.isPrimitive()) {
+                throw new EnvConfigException("Missing required key '" + key + "'");
+            }
+            return List.class.equals(this.type) ? List.of() : null;
+        }
+
+        private static boolean isListOfStrings(final Type genericType) {
+            return genericType instanceof ParameterizedType parameterized
+                && String.class.equals(parameterized.getActualTypeArguments()[0]);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Object toEnum(final Class<?> type, final String value) {
+            return Enum.valueOf((Class<? extends Enum>) type, value);
+        }
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.github.sitture.envconfig;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+final class EnvConfigBindingCache {
+
+    private final Map<Binding, Bound> bindings = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the record bound to a namespace, unless any of the keys it was bound from has since been shadowed.
+     *
+     * @param namespace the namespace
+     * @param type      the record class
+     * @param shadowed  whether a key is shadowed, i.e. by a system property set after the record was bound
+     * @param <T>       the type of the record
+     * @return the bound record or null when not cached.
+     */
+    <T extends Record> T get(final String namespace, final Class<T> type, final Predicate<String> shadowed) {
+        final Bound bound = this.bindings.get(new Binding(namespace, type));
+        return null == bound || bound.isShadowed(shadowed) ? null : type.cast(bound.record());
+    }
+
+    /**
+     * Caches the record bound to a namespace, until a key under the namespace changes.
+     *
+     * @param namespace the namespace
+     * @param type      the record class
+     * @param bound     the bound record
+     * @param keys      the keys the record was bound from
+     * @param <T>       the type of the record
+     */
+    <T extends Record> void put(final String namespace, final Class<T> type, final T bound, final String... keys) {
+        this.bindings.put(new Binding(namespace, type), new Bound(bound, keys));
+    }
+
+    /**
+     * Removes the records bound to a namespace any of the given keys is under,
+     * by either the key as is or its property form.
+     *
+     * @param keys the changed keys
+     */
+    void invalidate(final Collection<String> keys) {
+        if (!this.bindings.isEmpty()) {
+            this.bindings.keySet().removeIf(binding -> keys.stream().anyMatch(binding::contains));
+        }
+    }
+
+    /**
+     * A bound record, with the keys it was bound from, checked on every hit without building them again.
+     */
+    private record Bound(Record record, String... keys) {
+
+        boolean isShadowed(final Predicate<String> shadowed) {
+            boolean any = false;
+            for (int i = 0; !any && i < this.keys.length; i++) {
+                any = shadowed.test(this.keys[i]);
+            }
+            return any;
+        }
+    }
+
+    private record Binding(String namespace, Class<?> type) {
+
+        boolean contains(final String key) {
+            return key.startsWith(namespace) || EnvConfigUtils.getProcessedPropertyKey(key).startsWith(namespace);
+        }
+    }
+
+}
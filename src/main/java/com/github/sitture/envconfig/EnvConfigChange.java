@@ -0,0 +1,97 @@
+package com.github.sitture.envconfig;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * The keys added, changed or removed by a config change.
+ */
+public final class EnvConfigChange {
+
+    private final Set<String> added;
+    private final Set<String> changed;
+    private final Set<String> removed;
+
+    EnvConfigChange(final Set<String> added, final Set<String> changed, final Set<String> removed) {
+        this.added = Set.copyOf(added);
+        this.changed = Set.copyOf(changed);
+        this.removed = Set.copyOf(removed);
+    }
+
+    /**
+     * Compares the values of the given keys before and after a change, where a null value means the key is not present.
+     *
+     * @param keys   the keys that may have changed
+     * @param before the value of a key before the change
+     * @param after  the value of a key after the change
+     * @return the keys whose values changed.
+     */
+    static EnvConfigChange of(final Collection<String> keys, final Function<String, String> before, final Function<String, String> after) {
+        final Set<String> added = new HashSet<>();
+        final Set<String> changed = new HashSet<>();
+        final Set<String> removed = new HashSet<>();
+        keys.forEach(key -> {
+            final String previous = before.apply(key);
+            final String current = after.apply(key);
+            if (null == previous && null != current) {
+                added.add(key);
+            } else if (null != previous && null == current) {
+                removed.add(key);
+            } else if (!Objects.equals(previous, current)) {
+                changed.add(key);
+            }
+        });
+        return new EnvConfigChange(added, changed, removed);
+    }
+
+    /**
+     * The keys that were not present before the change.
+     *
+     * @return the added keys.
+     */
+    public Set<String> getAdded() {
+        return added;
+    }
+
+    /**
+     * The keys that are present both before and after the change, with a different value.
+     *
+     * @return the changed keys.
+     */
+    public Set<String> getChanged() {
+        return changed;
+    }
+
+    /**
+     * The keys that are no longer present after the change.
+     *
+     * @return the removed keys.
+     */
+    public Set<String> getRemoved() {
+        return removed;
+    }
+
+    /**
+     * All keys affected by the change.
+     *
+     * @return the added, changed and removed keys.
+     */
+    public Set<String> getKeys() {
+        final Set<String> keys = new HashSet<>(added);
+        keys.addAll(changed);
+        keys.addAll(removed);
+        return keys;
+    }
+
+    boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "EnvConfigChange{added=%s, changed=%s, removed=%s}".formatted(added, changed, removed);
+    }
+}
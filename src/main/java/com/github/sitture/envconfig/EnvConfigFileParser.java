@@ -0,0 +1,63 @@
+package com.github.sitture.envconfig;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import org.apache.commons.configuration2.Configuration;
+
+@SuppressWarnings("PMD.DoNotUseThreads")
+class EnvConfigFileParser implements AutoCloseable {
+
+    private final Function<File, Configuration> parser;
+    private final ExecutorService executor;
+    private final Map<File, Future<Configuration>> configurations = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a parser for property files.
+     *
+     * @param parallelism the number of files to parse concurrently, files are parsed on demand when 1 or less.
+     * @param parser      parses a single property file.
+     */
+    EnvConfigFileParser(final int parallelism, final Function<File, Configuration> parser) {
+        this.parser = parser;
+        this.executor = parallelism > 1
+            ? Executors.newFixedThreadPool(parallelism, new EnvConfigThreadFactory("env-config-parser"))
+            : null;
+    }
+
+    /**
+     * Starts parsing the given files in the background when running in parallel.
+     *
+     * @param files the files to parse.
+     */
+    void submit(final Collection<List<File>> files) {
+        if (null != executor) {
+            files.forEach(list -> list.forEach(file ->
+                configurations.computeIfAbsent(file, key -> executor.submit(() -> parser.apply(key)))));
+        }
+    }
+
+    /**
+     * Returns the parsed configuration of a file, waiting for it when parsed in the background.
+     *
+     * @param file the file
+     * @return the parsed configuration.
+     */
+    Configuration get(final File file) {
+        final Future<Configuration> configuration = configurations.remove(file);
+        return null == configuration ? parser.apply(file) : EnvConfigTasks.await(configuration);
+    }
+
+    @Override
+    public void close() {
+        if (null != executor) {
+            executor.shutdownNow();
+        }
+    }
+}
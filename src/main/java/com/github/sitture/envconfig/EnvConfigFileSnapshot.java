@@ -0,0 +1,232 @@
+package com.github.sitture.envconfig;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A compiled binary snapshot of the parsed property files, so an unchanged file is not parsed again on the next start.
+ * The snapshot is memory-mapped and validated against its checksum,
+ * and only the entries of files whose size and modification time still match are decoded.
+ * A file with a new modification time but the same size is compared by checksum, so e.g. a fresh checkout still hits.
+ */
+final class EnvConfigFileSnapshot {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EnvConfigFileSnapshot.class);
+    private static final int MAGIC = 0x45434653;
+    private static final byte VERSION = 2;
+    private static final byte STRING_VALUE = 0;
+    private static final byte LIST_VALUE = 1;
+    private static final int HEADER_LENGTH = Integer.BYTES + 1 + Long.BYTES;
+    private final Path file;
+    private final Map<String, Entry> entries;
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    EnvConfigFileSnapshot(final Path file) {
+        this.file = file;
+        this.entries = read(file);
+    }
+
+    /**
+     * Returns the properties of a property file from the snapshot, or parses it when it changed since the snapshot.
+     *
+     * @param propertyFile the property file
+     * @param parser       parses the property file on a miss
+     * @return the properties of the file, in the order they first appear.
+     */
+    Map<String, Object> get(final File propertyFile, final Function<File, Map<String, Object>> parser) {
+        final String path = propertyFile.getAbsolutePath();
+        final long size = propertyFile.length();
+        final long lastModified = propertyFile.lastModified();
+        final Entry entry = this.entries.get(path);
+        Entry hit = null;
+        if (null != entry && entry.size == size) {
+            if (entry.lastModified == lastModified) {
+                hit = entry;
+            } else if (entry.checksum == getChecksum(propertyFile)) {
+                hit = new Entry(size, lastModified, entry.checksum, entry.contents);
+                this.stale.set(true);
+            }
+        }
+        final Map<String, Object> properties;
+        if (null == hit) {
+            LOG.debug("Property file {} changed since the snapshot", propertyFile);
+            properties = parser.apply(propertyFile);
+            hit = new Entry(size, lastModified, getChecksum(propertyFile), encode(properties));
+            this.stale.set(true);
+        } else {
+            properties = decode(hit.contents);
+        }
+        this.current.put(path, hit);
+        return properties;
+    }
+
+    /**
+     * Replaces the snapshot file with the property files read since it was loaded, unless nothing changed.
+     */
+    void write() {
+        if (!this.stale.get() && this.current.keySet().equals(this.entries.keySet())) {
+            return;
+        }
+        try {
+            final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(body)) {
+                output.writeInt(this.current.size());
+                for (final Map.Entry<String, Entry> entry : this.current.entrySet()) {
+                    writeString(output, entry.getKey());
+                    output.writeLong(entry.getValue().size);
+                    output.writeLong(entry.getValue().lastModified);
+                    output.writeLong(entry.getValue().checksum);
+                    final byte[] contents = new byte[entry.getValue().contents.remaining()];
+                    entry.getValue().contents.duplicate().get(contents);
+                    output.writeInt(contents.length);
+                    output.write(contents);
+                }
+            }
+            final CRC32C checksum = new CRC32C();
+            checksum.update(body.toByteArray());
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_LENGTH + body.size());
+            try (DataOutputStream output = new DataOutputStream(bytes)) {
+                output.writeInt(MAGIC);
+                output.writeByte(VERSION);
+                output.writeLong(checksum.getValue());
+                body.writeTo(output);
+            }
+            final Path directory = this.file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            final Path temp = Files.createTempFile(directory, this.file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, bytes.toByteArray());
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            LOG.debug("Saved {} property files to snapshot {}", this.current.size(), this.file);
+        } catch (IOException e) {
+            LOG.warn("Could not write the config snapshot {}", this.file, e);
+        }
+    }
+
+    private static Map<String, Entry> read(final Path file) {
+        final Map<String, Entry> entries = new HashMap<>();
+        if (Files.isRegularFile(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                    throw new IOException("Unsupported config snapshot format");
+                }
+                final long expected = buffer.getLong();
+                final CRC32C snapshotChecksum = new CRC32C();
+                snapshotChecksum.update(buffer.duplicate());
+                if (snapshotChecksum.getValue() != expected) {
+                    throw new IOException("Corrupt config snapshot");
+                }
+                final int fileCount = buffer.getInt();
+                for (int i = 0; i < fileCount; i++) {
+                    final String path = readString(buffer);
+                    final long size = buffer.getLong();
+                    final long lastModified = buffer.getLong();
+                    final long checksum = buffer.getLong();
+                    final int length = buffer.getInt();
+                    entries.put(path, new Entry(size, lastModified, checksum, buffer.slice(buffer.position(), length)));
+                    buffer.position(buffer.position() + length);
+                }
+                LOG.debug("Loaded {} property files from snapshot {}", entries.size(), file);
+            } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+                LOG.warn("Could not read the config snapshot {}, property files will be parsed", file, e);
+                entries.clear();
+            }
+        }
+        return entries;
+    }
+
+    private static Map<String, Object> decode(final ByteBuffer contents) {
+        final ByteBuffer buffer = contents.duplicate();
+        final int entryCount = buffer.getInt();
+        final Map<String, Object> map = new LinkedHashMap<>(entryCount * 4 / 3 + 1);
+        for (int i = 0; i < entryCount; i++) {
+            final String key = readString(buffer);
+            if (buffer.get() == LIST_VALUE) {
+                final int valueCount = buffer.getInt();
+                final List<String> values = new ArrayList<>(valueCount);
+                for (int j = 0; j < valueCount; j++) {
+                    values.add(readString(buffer));
+                }
+                map.put(key, values);
+            } else {
+                map.put(key, readString(buffer));
+            }
+        }
+        return map;
+    }
+
+    private static ByteBuffer encode(final Map<String, Object> properties) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(properties.size());
+            for (final Map.Entry<String, Object> property : properties.entrySet()) {
+                writeString(output, property.getKey());
+                final Object value = property.getValue();
+                if (value instanceof List<?> values) {
+                    output.writeByte(LIST_VALUE);
+                    output.writeInt(values.size());
+                    for (final Object element : values) {
+                        writeString(output, String.valueOf(element));
+                    }
+                } else {
+                    output.writeByte(STRING_VALUE);
+                    writeString(output, String.valueOf(value));
+                }
+            }
+        } catch (IOException e) {
+            throw new EnvConfigException(e);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    private static long getChecksum(final File propertyFile) {
+        try {
+            final CRC32C checksum = new CRC32C();
+            checksum.update(Files.readAllBytes(propertyFile.toPath()));
+            return checksum.getValue();
+        } catch (IOException e) {
+            throw new EnvConfigException(e);
+        }
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private record Entry(long size, long lastModified, long checksum, ByteBuffer contents) {
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.sitture.envconfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Watches the directories of the loaded property files and reloads the layer of a file once it has been edited.
+ * Bursts of events, e.g. an editor writing a file in several steps, are debounced so a file is parsed once per burst.
+ * A deleted file leaves an empty layer behind, which is filled again if the file is recreated.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+class EnvConfigFileWatcher implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EnvConfigFileWatcher.class);
+    private final Map<Path, WatchedFile> files = new HashMap<>();
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+    private final Function<File, Configuration> parser;
+    private final BiConsumer<EnvConfigLayer, Configuration> listener;
+    private final long debounceMillis;
+    private final WatchService watchService;
+    private final ExecutorService watcher =
+        Executors.newSingleThreadExecutor(new EnvConfigThreadFactory("env-config-reload"));
+
+    /**
+     * Starts watching the given property files.
+     *
+     * @param layers   the layer of each property file, as parsed at startup
+     * @param parser   parses a single property file
+     * @param listener replaces the contents of a layer
+     * @param debounce the quiet period to wait for after the last event before reloading
+     */
+    EnvConfigFileWatcher(final Map<File, EnvConfigLayer> layers, final Function<File, Configuration> parser,
+                         final BiConsumer<EnvConfigLayer, Configuration> listener, final Duration debounce) {
+        this.parser = parser;
+        this.listener = listener;
+        this.debounceMillis = debounce.toMillis();
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            for (final Map.Entry<File, EnvConfigLayer> layer : layers.entrySet()) {
+                final Path file = layer.getKey().toPath().toAbsolutePath().normalize();
+                this.files.put(file, new WatchedFile(layer.getKey(), layer.getValue()));
+                if (!this.directories.containsValue(file.getParent())) {
+                    this.directories.put(file.getParent().register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE), file.getParent());
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw new EnvConfigException(e);
+        }
+        LOG.debug("Watching {} property files under {} for changes", this.files.size(), this.directories.values());
+        this.watcher.execute(this::watch);
+    }
+
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final Set<WatchedFile> changed = new HashSet<>();
+                WatchKey key = this.watchService.take();
+                while (null != key) {
+                    collect(key, changed);
+                    key = this.watchService.poll(this.debounceMillis, TimeUnit.MILLISECONDS);
+                }
+                changed.forEach(this::reload);
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            LOG.debug("Watching property files has been stopped");
+        }
+    }
+
+    private void collect(final WatchKey key, final Set<WatchedFile> changed) {
+        final Path directory = this.directories.get(key);
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (null != directory && event.context() instanceof Path path) {
+                final WatchedFile file = this.files.get(directory.resolve(path));
+                if (null != file) {
+                    changed.add(file);
+                }
+            }
+        }
+        key.reset();
+    }
+
+    /**
+     * Reloads a property file, keeping the previous config and watching on when it can't be read or parsed.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void reload(final WatchedFile file) {
+        try {
+            final Configuration parsed = file.file.isFile() ? this.parser.apply(file.file) : new MapConfiguration(Map.of());
+            LOG.debug("Reloading config from {}", file.file);
+            this.listener.accept(file.layer, file.merge(parsed));
+        } catch (RuntimeException e) {
+            LOG.warn("Could not reload {}, keeping the previous config", file.file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.watcher.shutdownNow();
+        if (null != this.watchService) {
+            try {
+                this.watchService.close();
+            } catch (IOException e) {
+                LOG.debug("Could not close the property file watcher", e);
+            }
+        }
+    }
+
+    /**
+     * A watched property file and its layer.
+     */
+    private record WatchedFile(File file, EnvConfigLayer layer) {
+
+        /**
+         * Returns the new contents of the layer, i.e. the replacement with the keys that stay cleared removed from it.
+         * Keys cleared at runtime stay cleared unless the edit changed their value.
+         */
+        Configuration merge(final Configuration replacement) {
+            final Set<String> stillCleared = new HashSet<>();
+            replacement.getKeys().forEachRemaining(key -> {
+                if (!this.layer.containsKey(key)
+                    && Objects.equals(replacement.getProperty(key), this.layer.getClearedProperty(key))) {
+                    stillCleared.add(key);
+                }
+            });
+            stillCleared.forEach(replacement::clearProperty);
+            this.layer.retainCleared(stillCleared);
+            return replacement;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.github.sitture.envconfig;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * The formats the config can be exported in with {@link EnvConfig#export(Appendable, EnvConfigFormat)}.
+ */
+public enum EnvConfigFormat {
+
+    /**
+     * One {@code key=value} line per property, escaped so the output can be read back as a property file.
+     */
+    PROPERTIES {
+        @Override
+        void write(final Iterator<Map.Entry<String, String>> entries, final Appendable output) throws IOException {
+            while (entries.hasNext()) {
+                final Map.Entry<String, String> entry = entries.next();
+                escapeProperty(entry.getKey(), true, output);
+                output.append('=');
+                escapeProperty(entry.getValue(), false, output);
+                output.append('\n');
+            }
+        }
+    },
+
+    /**
+     * A single JSON object with a string member per property.
+     */
+    JSON {
+        @Override
+        void write(final Iterator<Map.Entry<String, String>> entries, final Appendable output) throws IOException {
+            output.append('{');
+            boolean first = true;
+            while (entries.hasNext()) {
+                final Map.Entry<String, String> entry = entries.next();
+                if (!first) {
+                    output.append(',');
+                }
+                first = false;
+                escapeJson(entry.getKey(), output);
+                output.append(':');
+                escapeJson(entry.getValue(), output);
+            }
+            output.append("}\n");
+        }
+    };
+
+    private static final char LAST_PRINTABLE = '~';
+    private static final String HEX = "0123456789abcdef";
+
+    /**
+     * Writes the given properties to the output.
+     *
+     * @param entries the properties
+     * @param output  the output
+     * @throws IOException if the output cannot be written to.
+     */
+    abstract void write(Iterator<Map.Entry<String, String>> entries, Appendable output) throws IOException;
+
+    /**
+     * Escapes a key or value the way property files are unescaped when read.
+     * Spaces around a value, which would otherwise be trimmed, and characters outside printable ascii are written as unicode escapes,
+     * so the output reads back the same in any encoding.
+     */
+    private static void escapeProperty(final String text, final boolean key, final Appendable output) throws IOException {
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            switch (c) {
+                case '\\' -> output.append("\\\\");
+                case '\t' -> output.append("\\t");
+                case '\n' -> output.append("\\n");
+                case '\r' -> output.append("\\r");
+                case '\f' -> output.append("\\f");
+                case ' ' -> {
+                    if (key) {
+                        output.append("\\ ");
+                    } else if (i == 0 || i == length - 1) {
+                        appendUnicode(c, output);
+                    } else {
+                        output.append(c);
+                    }
+                }
+                case '=', ':' -> output.append(key ? "\\" : "").append(c);
+                case '#', '!' -> output.append(key && i == 0 ? "\\" : "").append(c);
+                default -> {
+                    if (c < ' ' || c > LAST_PRINTABLE) {
+                        appendUnicode(c, output);
+                    } else {
+                        output.append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void escapeJson(final String text, final Appendable output) throws IOException {
+        output.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            switch (c) {
+                case '"' -> output.append("\\\"");
+                case '\\' -> output.append("\\\\");
+                case '\b' -> output.append("\\b");
+                case '\f' -> output.append("\\f");
+                case '\n' -> output.append("\\n");
+                case '\r' -> output.append("\\r");
+                case '\t' -> output.append("\\t");
+                default -> {
+                    if (c < ' ') {
+                        appendUnicode(c, output);
+                    } else {
+                        output.append(c);
+                    }
+                }
+            }
+        }
+        output.append('"');
+    }
+
+    private static void appendUnicode(final char c, final Appendable output) throws IOException {
+        output.append("\\u")
+            .append(HEX.charAt(c >> 12 & 0xF))
+            .append(HEX.charAt(c >> 8 & 0xF))
+            .append(HEX.charAt(c >> 4 & 0xF))
+            .append(HEX.charAt(c & 0xF));
+    }
+}
@@ -6,6 +6,11 @@ enum EnvConfigKey {
     CONFIG_ENV("env.config.environment"),
     CONFIG_PROFILE("env.config.profile"),
     CONFIG_PROFILES_PATH("env.config.profiles.path"),
+    CONFIG_LOAD_PARALLELISM("env.config.load.parallelism"),
+    CONFIG_SNAPSHOT_FILE("env.config.snapshot.file"),
+    CONFIG_RELOAD_ENABLED("env.config.reload.enabled"),
+    CONFIG_RELOAD_DEBOUNCE("env.config.reload.debounce"),
+    CONFIG_DELTA_ENABLED("env.config.delta.enabled"),
     CONFIG_KEEPASS_ENABLED("env.config.keepass.enabled"),
     CONFIG_KEEPASS_FILENAME("env.config.keepass.filename"),
     CONFIG_KEEPASS_MASTERKEY("env.config.keepass.masterkey"),
@@ -15,7 +20,16 @@ enum EnvConfigKey {
     CONFIG_VAULT_DEFAULT_PATH("env.config.vault.default.secret.path"),
     CONFIG_VAULT_SECRET_PATH("env.config.vault.secret.path"),
     CONFIG_VAULT_TOKEN("env.config.vault.token"),
-    CONFIG_VAULT_VALIDATE_MAX_RETRIES("env.config.vault.validate.token.max.retries");
+    CONFIG_VAULT_VALIDATE_MAX_RETRIES("env.config.vault.validate.token.max.retries"),
+    CONFIG_VAULT_VALIDATE_INITIAL_BACKOFF("env.config.vault.validate.token.initial.backoff"),
+    CONFIG_VAULT_VALIDATE_MAX_BACKOFF("env.config.vault.validate.token.max.backoff"),
+    CONFIG_VAULT_VALIDATE_DEADLINE("env.config.vault.validate.token.deadline"),
+    CONFIG_VAULT_VALIDATE_ASYNC("env.config.vault.validate.token.async"),
+    CONFIG_VAULT_READ_PARALLELISM("env.config.vault.read.parallelism"),
+    CONFIG_VAULT_REFRESH_ENABLED("env.config.vault.refresh.enabled"),
+    CONFIG_VAULT_REFRESH_TTL("env.config.vault.refresh.ttl"),
+    CONFIG_VAULT_SNAPSHOT_FILE("env.config.vault.snapshot.file"),
+    CONFIG_VAULT_SNAPSHOT_KEY("env.config.vault.snapshot.key");
 
     private final String property;
 
@@ -0,0 +1,28 @@
+package com.github.sitture.envconfig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class EnvConfigKeyAliases {
+
+    private final Map<String, String> propertyKeys = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the property form of a key, i.e. {@code my.key} for {@code MY_KEY}.
+     * Each distinct key is only normalised once whilst loading and the same instance is shared across layers.
+     *
+     * @param key the key
+     * @return the property form of the key.
+     */
+    String getPropertyKey(final String key) {
+        return propertyKeys.computeIfAbsent(key, EnvConfigUtils::getProcessedPropertyKey);
+    }
+
+    /**
+     * Empties the aliases once loading or an update is done, keys already normalised stay shared.
+     */
+    void clear() {
+        propertyKeys.clear();
+    }
+
+}
@@ -0,0 +1,264 @@
+package com.github.sitture.envconfig;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A map that stores each property once, under its property form, while it can be looked up
+ * by both its property form, i.e. {@code my.key}, and its second form, i.e. {@code MY_KEY}.
+ * The second form is the environment variable form of the property key, unless the property was stored under another one.
+ * Keys that are put or removed individually after loading only affect that form, as with a map holding both forms.
+ *
+ * @param <V> the type of the values
+ */
+final class EnvConfigKeyMap<V> extends AbstractMap<String, V> {
+
+    private final Function<String, String> propertyKeys;
+    private final Map<String, V> values;
+    private final Map<String, String> aliases = new HashMap<>();
+    private final Map<String, V> overrides = new HashMap<>();
+    private final Set<String> removed = new HashSet<>();
+
+    /**
+     * @param expectedSize the expected number of properties
+     * @param propertyKeys returns the property form of a key when storing a property or looking up a second form
+     */
+    EnvConfigKeyMap(final int expectedSize, final Function<String, String> propertyKeys) {
+        super();
+        this.propertyKeys = propertyKeys;
+        this.values = new HashMap<>(expectedSize * 4 / 3 + 1);
+    }
+
+    /**
+     * Stores a property read from a property file, found by both the property and environment variable forms of its key.
+     *
+     * @param key   the key as read
+     * @param value the value
+     */
+    void putProperty(final String key, final V value) {
+        final String propertyKey = this.propertyKeys.apply(key);
+        store(propertyKey, EnvConfigUtils.isAscii(key) ? null : EnvConfigUtils.getProcessedEnvKey(key), value);
+    }
+
+    /**
+     * Stores a property such as an environment variable, found by its key as is and the property form of its key.
+     *
+     * @param key   the key as is
+     * @param value the value
+     */
+    void putVariable(final String key, final V value) {
+        final String propertyKey = this.propertyKeys.apply(key);
+        store(propertyKey, !key.equals(propertyKey) && isEnvKey(key, propertyKey) ? null : key, value);
+    }
+
+    @Override
+    public V get(final Object key) {
+        if (!(key instanceof String form)) {
+            return null;
+        }
+        if (!this.overrides.isEmpty() && this.overrides.containsKey(form)) {
+            return this.overrides.get(form);
+        }
+        if (!this.removed.isEmpty() && this.removed.contains(form)) {
+            return null;
+        }
+        V value = this.values.get(form);
+        if (null == value && !EnvConfigUtils.isPropertyForm(form)) {
+            final String propertyKey = this.propertyKeys.apply(form);
+            value = propertyKey.equals(form) ? null : this.values.get(propertyKey);
+            if (null != value && !isAlias(form, propertyKey)) {
+                value = null;
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return null != get(key);
+    }
+
+    @Override
+    public V put(final String key, final V value) {
+        Objects.requireNonNull(value);
+        final V previous = get(key);
+        this.overrides.put(key, value);
+        this.removed.remove(key);
+        return previous;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        final V previous = get(key);
+        if (null != previous) {
+            this.overrides.remove(key);
+            this.removed.add((String) key);
+            discard(EnvConfigUtils.getProcessedPropertyKey((String) key));
+        }
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        this.values.clear();
+        this.aliases.clear();
+        this.overrides.clear();
+        this.removed.clear();
+    }
+
+    @Override
+    public int size() {
+        return (int) keys().count();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return keys().findAny().isEmpty();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<String> iterator() {
+                return keys().iterator();
+            }
+
+            @Override
+            public boolean contains(final Object key) {
+                return containsKey(key);
+            }
+
+            @Override
+            public int size() {
+                return EnvConfigKeyMap.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<String, V>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<String, V>> iterator() {
+                return keys().<Map.Entry<String, V>>map(key -> new SimpleImmutableEntry<>(key, get(key))).iterator();
+            }
+
+            @Override
+            public int size() {
+                return EnvConfigKeyMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Stores a value under its property key, replacing an earlier property with the same property key.
+     * When the earlier property had a different second form, that form keeps its earlier value.
+     * A non-ascii second form whose property form is not the property key, i.e. due to case mappings
+     * such as {@code STRASSE} for {@code straße}, could not be found through the property key and is stored as is.
+     *
+     * @param propertyKey the property form of the key
+     * @param alias       the second form of the key, the property key itself when there is none,
+     *                    or null for the environment variable form of the property key.
+     * @param value       the value
+     */
+    private void store(final String propertyKey, final String alias, final V value) {
+        Objects.requireNonNull(value);
+        if (!EnvConfigUtils.isAscii(propertyKey) || null != alias && !EnvConfigUtils.isAscii(alias)) {
+            final String secondForm = getSecondForm(propertyKey, alias);
+            if (!secondForm.equals(propertyKey) && !EnvConfigUtils.getProcessedPropertyKey(secondForm).equals(propertyKey)) {
+                store(propertyKey, propertyKey, value);
+                this.overrides.put(secondForm, value);
+                return;
+            }
+        }
+        final V previous = this.values.put(propertyKey, value);
+        if (null != previous) {
+            final String previousForm = getAlias(propertyKey);
+            if (!previousForm.equals(propertyKey) && !previousForm.equals(getSecondForm(propertyKey, alias))
+                && !this.removed.contains(previousForm)) {
+                this.overrides.putIfAbsent(previousForm, previous);
+            }
+        }
+        if (null == alias) {
+            this.aliases.remove(propertyKey);
+        } else {
+            this.aliases.put(propertyKey, alias);
+        }
+        if (!this.overrides.isEmpty() || !this.removed.isEmpty()) {
+            final String secondForm = getSecondForm(propertyKey, alias);
+            this.overrides.remove(propertyKey);
+            this.overrides.remove(secondForm);
+            this.removed.remove(propertyKey);
+            this.removed.remove(secondForm);
+        }
+    }
+
+    /**
+     * Drops a property once all of its forms were removed.
+     */
+    private void discard(final String propertyKey) {
+        if (this.removed.contains(propertyKey) && this.values.containsKey(propertyKey)) {
+            final String alias = getAlias(propertyKey);
+            if (alias.equals(propertyKey) || this.removed.contains(alias)) {
+                this.values.remove(propertyKey);
+                this.aliases.remove(propertyKey);
+                this.removed.remove(propertyKey);
+                this.removed.remove(alias);
+            }
+        }
+    }
+
+    private static String getSecondForm(final String propertyKey, final String alias) {
+        return null == alias ? EnvConfigUtils.getProcessedEnvKey(propertyKey) : alias;
+    }
+
+    private Stream<String> keys() {
+        final Stream<String> forms = this.values.keySet().stream().flatMap(propertyKey -> {
+            final String alias = getAlias(propertyKey);
+            return alias.equals(propertyKey) ? Stream.of(propertyKey) : Stream.of(propertyKey, alias);
+        });
+        return this.overrides.isEmpty() && this.removed.isEmpty()
+            ? forms
+            : Stream.concat(
+                forms.filter(key -> !this.removed.contains(key) && !this.overrides.containsKey(key)),
+                this.overrides.keySet().stream());
+    }
+
+    private String getAlias(final String propertyKey) {
+        return getSecondForm(propertyKey, this.aliases.get(propertyKey));
+    }
+
+    private boolean isAlias(final String key, final String propertyKey) {
+        final String alias = this.aliases.get(propertyKey);
+        return null == alias ? isEnvKey(key, propertyKey) : alias.equals(key);
+    }
+
+    /**
+     * Whether a key is the environment variable form of its property key, without building that form for ascii keys.
+     *
+     * @param key         the key
+     * @param propertyKey the property form of the key
+     * @return true if the key is the environment variable form.
+     */
+    private static boolean isEnvKey(final String key, final String propertyKey) {
+        boolean envKey = true;
+        if (EnvConfigUtils.isAscii(key)) {
+            for (int i = 0; envKey && i < key.length(); i++) {
+                final char current = key.charAt(i);
+                envKey = current != '.' && (current < 'a' || current > 'z');
+            }
+        } else {
+            envKey = key.equals(EnvConfigUtils.getProcessedEnvKey(propertyKey));
+        }
+        return envKey;
+    }
+}
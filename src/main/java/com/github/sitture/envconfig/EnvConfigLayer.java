@@ -0,0 +1,100 @@
+package com.github.sitture.envconfig;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.configuration2.AbstractConfiguration;
+import org.apache.commons.configuration2.Configuration;
+
+/**
+ * A configuration layer whose contents can be replaced as a whole
+ * while keeping its position in the composite configuration.
+ */
+final class EnvConfigLayer extends AbstractConfiguration {
+
+    private final AtomicReference<Configuration> contents;
+    private final Map<String, Object> cleared = new ConcurrentHashMap<>();
+
+    EnvConfigLayer(final Configuration contents) {
+        super();
+        this.contents = new AtomicReference<>(contents);
+    }
+
+    /**
+     * Replaces the contents of this layer.
+     *
+     * @param replacement the new contents
+     * @return the keys that were added, removed or changed by the replacement.
+     */
+    Set<String> swap(final Configuration replacement) {
+        final Configuration previous = this.contents.getAndSet(replacement);
+        final Set<String> changedKeys = new HashSet<>();
+        previous.getKeys().forEachRemaining(changedKeys::add);
+        replacement.getKeys().forEachRemaining(changedKeys::add);
+        changedKeys.removeIf(key -> Objects.equals(previous.getProperty(key), replacement.getProperty(key)));
+        return changedKeys;
+    }
+
+    /**
+     * Returns the value a key had when it was cleared from this layer, as long as it was not brought back since.
+     *
+     * @param key the key
+     * @return the cleared value or null when the key was not cleared.
+     */
+    Object getClearedProperty(final String key) {
+        return this.cleared.get(key);
+    }
+
+    /**
+     * Forgets the values of cleared keys, except for those that are still cleared.
+     *
+     * @param keys the keys that are still cleared
+     */
+    void retainCleared(final Set<String> keys) {
+        this.cleared.keySet().retainAll(keys);
+    }
+
+    @Override
+    protected void addPropertyDirect(final String key, final Object value) {
+        this.contents.get().addProperty(key, value);
+    }
+
+    @Override
+    protected void clearPropertyDirect(final String key) {
+        final Configuration current = this.contents.get();
+        final Object value = current.getProperty(key);
+        if (null != value) {
+            this.cleared.put(key, value);
+        }
+        current.clearProperty(key);
+    }
+
+    @Override
+    protected boolean containsKeyInternal(final String key) {
+        return this.contents.get().containsKey(key);
+    }
+
+    @Override
+    protected boolean containsValueInternal(final Object value) {
+        return this.contents.get().containsValue(value);
+    }
+
+    @Override
+    protected Iterator<String> getKeysInternal() {
+        return this.contents.get().getKeys();
+    }
+
+    @Override
+    protected Object getPropertyInternal(final String key) {
+        return this.contents.get().getProperty(key);
+    }
+
+    @Override
+    protected boolean isEmptyInternal() {
+        return this.contents.get().isEmpty();
+    }
+}
@@ -0,0 +1,17 @@
+package com.github.sitture.envconfig;
+
+/**
+ * Notified of the keys whose values changed, e.g. after a property was set or cleared, a config reset
+ * or a reload of property files or vault secrets.
+ * Listeners are called one change at a time, in order, on a background thread rather than the thread making the change.
+ */
+@FunctionalInterface
+public interface EnvConfigListener {
+
+    /**
+     * Called once the config has changed.
+     *
+     * @param change the added, changed and removed keys.
+     */
+    void onChange(EnvConfigChange change);
+}
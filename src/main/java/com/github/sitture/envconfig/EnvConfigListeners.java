@@ -0,0 +1,59 @@
+package com.github.sitture.envconfig;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The registered config listeners, which are notified on a single background thread
+ * so changes are delivered in the order they were made without holding up the thread making them.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+class EnvConfigListeners {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EnvConfigListeners.class);
+    private final List<EnvConfigListener> listeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService dispatcher =
+        Executors.newSingleThreadExecutor(new EnvConfigThreadFactory("env-config-listener"));
+
+    void add(final EnvConfigListener listener) {
+        this.listeners.add(listener);
+    }
+
+    void remove(final EnvConfigListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Whether any listener is registered, so changes only need to be computed when someone is listening.
+     *
+     * @return true if there are no listeners.
+     */
+    boolean isEmpty() {
+        return this.listeners.isEmpty();
+    }
+
+    /**
+     * Notifies the listeners of a change in the background, unless nothing changed.
+     *
+     * @param change the change
+     */
+    void publish(final EnvConfigChange change) {
+        if (!change.isEmpty()) {
+            LOG.debug("Publishing config change {}", change);
+            this.dispatcher.execute(() -> this.listeners.forEach(listener -> notify(listener, change)));
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static void notify(final EnvConfigListener listener, final EnvConfigChange change) {
+        try {
+            listener.onChange(change);
+        } catch (RuntimeException e) {
+            LOG.warn("Config listener {} failed to handle {}", listener, change, e);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.sitture.envconfig;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The time a config took to load, by phase, as measured on the loading thread.
+ * Work started in the background, i.e. property files parsed in parallel or a vault token validated asynchronously,
+ * only counts the time the loading thread spent waiting for it.
+ */
+final class EnvConfigLoadPhases {
+
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+    private final Map<Phase, Long> nanos = new EnumMap<>(Phase.class);
+    private final long started = System.nanoTime();
+    private long totalNanos;
+
+    enum Phase {
+        FILES("files"),
+        SYSTEM("system"),
+        VAULT_CONNECT("vault.connect"),
+        VAULT_READ("vault.read"),
+        KEEPASS("keepass"),
+        SNAPSHOT("snapshot");
+
+        private final String label;
+
+        Phase(final String label) {
+            this.label = label;
+        }
+
+        String getLabel() {
+            return this.label;
+        }
+    }
+
+    /**
+     * Runs a task, adding the time it took to the given phase.
+     *
+     * @param phase the phase
+     * @param task  the task
+     * @param <T>   the result type
+     * @return the result of the task.
+     */
+    <T> T time(final Phase phase, final Supplier<T> task) {
+        final long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            this.nanos.merge(phase, System.nanoTime() - start, Long::sum);
+        }
+    }
+
+    /**
+     * Runs a task, adding the time it took to the given phase.
+     *
+     * @param phase the phase
+     * @param task  the task
+     */
+    void run(final Phase phase, final Runnable task) {
+        time(phase, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Moves time measured under one phase to another, i.e. time spent waiting on another phase's background work.
+     *
+     * @param from  the phase the time was measured under
+     * @param to    the phase the time belongs to
+     * @param nanos the time in nanoseconds, capped at the time of the {@code from} phase
+     */
+    void move(final Phase from, final Phase to, final long nanos) {
+        final long moved = Math.min(nanos, getNanos(from));
+        if (moved > 0) {
+            this.nanos.merge(from, -moved, Long::sum);
+            this.nanos.merge(to, moved, Long::sum);
+        }
+    }
+
+    /**
+     * Stops the clock of the whole load.
+     */
+    void finish() {
+        this.totalNanos = System.nanoTime() - this.started;
+    }
+
+    long getNanos(final Phase phase) {
+        return this.nanos.getOrDefault(phase, 0L);
+    }
+
+    /**
+     * The time from creating the loader until it finished loading, including the time outside any phase.
+     *
+     * @return the total time in nanoseconds.
+     */
+    long getTotalNanos() {
+        return this.totalNanos;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder phases = new StringBuilder(128).append(format(this.totalNanos)).append(" (");
+        for (final Phase phase : Phase.values()) {
+            phases.append(phase == Phase.FILES ? "" : ", ").append(phase.getLabel()).append(' ').append(format(getNanos(phase)));
+        }
+        return phases.append(')').toString();
+    }
+
+    private static String format(final long nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / NANOS_PER_MILLI);
+    }
+}
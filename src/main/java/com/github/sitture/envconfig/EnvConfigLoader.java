@@ -1,12 +1,29 @@
 package com.github.sitture.envconfig;
 
+import com.github.sitture.envconfig.EnvConfigLoadPhases.Phase;
 import java.io.File;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import org.apache.commons.configuration2.CompositeConfiguration;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.commons.configuration2.SystemConfiguration;
 import org.apache.commons.configuration2.builder.fluent.Configurations;
 import org.apache.commons.configuration2.ex.ConfigurationException;
 import org.slf4j.Logger;
@@ -16,36 +33,363 @@ class EnvConfigLoader {
 
     private static final Logger LOG = LoggerFactory.getLogger(EnvConfigLoader.class);
     public static final int ENVIRONMENTS_WITH_PARENT = 2;
+    static final EnvConfigListeners LISTENERS = new EnvConfigListeners();
+    private final EnvConfigLoadPhases loadPhases = new EnvConfigLoadPhases();
     protected final CompositeConfiguration configuration = new CompositeConfiguration();
     protected final EnvConfigProperties configProperties = new EnvConfigProperties();
+    private final Object lock = new Object();
+    private Configuration systemConfiguration;
+    private final AtomicReference<EnvConfigSnapshot> snapshot = new AtomicReference<>();
+    private final EnvConfigValueCache valueCache = new EnvConfigValueCache();
+    private final EnvConfigBindingCache bindingCache = new EnvConfigBindingCache();
+    private final EnvConfigKeyAliases keyAliases = new EnvConfigKeyAliases();
+    private final EnvConfigValuePool valuePool = new EnvConfigValuePool();
+    private VaultConfiguration vaultConfiguration;
+    private final Map<File, EnvConfigLayer> fileLayers = new HashMap<>();
+    private Map<String, Configuration> envConfigurations;
+    private EnvConfigLayer envLayer;
+    private final Set<String> clearedEnvKeys = new HashSet<>();
+    private EnvConfigFileWatcher fileWatcher;
 
     EnvConfigLoader() {
         final List<String> environments = this.configProperties.getEnvironments();
         final String configProfile = this.configProperties.getConfigProfile();
-        final Map<String, Configuration> envConfiguration = getEnvironmentConfiguration(environments);
-        loadEnvConfigurations(envConfiguration);
-        loadVaultConfigurations(environments);
-        loadKeepassConfigurations(environments);
-        if (!configProfile.isEmpty()) {
-            final Map<String, Configuration> profileConfiguration = getEnvironmentProfileConfiguration(environments, configProfile);
-            LOG.debug("Loading config from profile {} under environments {}", configProfile, environments);
-            environments.forEach(env -> this.configuration.addConfiguration(profileConfiguration.get(env)));
+        this.vaultConfiguration = isVaultValidatedAsync()
+            ? this.loadPhases.time(Phase.VAULT_CONNECT, this::newVaultConfiguration)
+            : null;
+        final EnvConfigFileSnapshot fileSnapshot = this.configProperties.getSnapshotFile().map(EnvConfigFileSnapshot::new).orElse(null);
+        try (EnvConfigFileParser parser = new EnvConfigFileParser(this.configProperties.getLoadParallelism(),
+            file -> getFileConfiguration(file, fileSnapshot))) {
+            final Map<String, List<File>> envFiles = this.loadPhases.time(Phase.FILES, () -> getEnvironmentFiles(environments));
+            final Map<String, List<File>> profileFiles = configProfile.isEmpty()
+                ? Map.of()
+                : this.loadPhases.time(Phase.FILES, () -> getEnvironmentProfileFiles(environments, configProfile));
+            parser.submit(envFiles.values());
+            parser.submit(profileFiles.values());
+            final Map<String, Configuration> envConfiguration =
+                this.loadPhases.time(Phase.FILES, () -> getConfiguration(envFiles, parser));
+            this.loadPhases.run(Phase.SYSTEM, () -> loadEnvConfigurations(envConfiguration));
+            loadVaultConfigurations(environments);
+            this.loadPhases.run(Phase.KEEPASS, () -> loadKeepassConfigurations(environments));
+            if (!configProfile.isEmpty()) {
+                final Map<String, Configuration> profileConfiguration =
+                    this.loadPhases.time(Phase.FILES, () -> getConfiguration(profileFiles, parser));
+                LOG.debug("Loading config from profile {} under environments {}", configProfile, environments);
+                retainDelta(environments, profileConfiguration);
+                environments.forEach(env -> this.configuration.addConfiguration(profileConfiguration.get(env)));
+            }
+            LOG.debug("Loading config from environment directories {}", environments);
+            retainDelta(environments, envConfiguration);
+            environments.forEach(env -> this.configuration.addConfiguration(envConfiguration.get(env)));
+        }
+        this.valuePool.clear();
+        if (null != fileSnapshot) {
+            fileSnapshot.write();
+        }
+        this.snapshot.set(this.loadPhases.time(Phase.SNAPSHOT, () -> EnvConfigSnapshot.of(getSnapshotLayers())));
+        this.keyAliases.clear();
+        if (null != this.vaultConfiguration) {
+            this.vaultConfiguration.refresh(this::swapLayer);
+        }
+        if (this.configProperties.isReloadEnabled()) {
+            this.fileWatcher = new EnvConfigFileWatcher(this.fileLayers, this::getFileConfigurationMap, this::reloadFileLayer,
+                this.configProperties.getReloadDebounce());
+        }
+        this.loadPhases.finish();
+        LOG.debug("Loaded config in {}", this.loadPhases);
+    }
+
+    /**
+     * Returns the time this config took to load, by phase.
+     *
+     * @return the load phases.
+     */
+    EnvConfigLoadPhases getLoadPhases() {
+        return this.loadPhases;
+    }
+
+    /**
+     * Returns the resolved value of a key.
+     * System properties and keys the snapshot leaves to be resolved on read are looked up live,
+     * everything else is read from the resolved snapshot.
+     *
+     * @param key the key
+     * @return the value or null when not present.
+     */
+    String getValue(final String key) {
+        final EnvConfigSnapshot resolved = this.snapshot.get();
+        return this.systemConfiguration.containsKey(key) || resolved.isLive(key)
+            ? this.configuration.getString(key)
+            : resolved.get(key);
+    }
+
+    /**
+     * Returns the resolved snapshot, replaced whenever a key is set, cleared or reloaded.
+     *
+     * @return the current snapshot.
+     */
+    EnvConfigSnapshot getSnapshot() {
+        return this.snapshot.get();
+    }
+
+    /**
+     * Whether the value of a key is looked up on every read rather than from the snapshot,
+     * because it is a system property or the snapshot leaves it to be resolved on read.
+     *
+     * @param key the key
+     * @return true if the key is resolved on read.
+     */
+    boolean isResolvedOnRead(final String key) {
+        return this.systemConfiguration.containsKey(key) || this.snapshot.get().isLive(key);
+    }
+
+    /**
+     * Whether a key is a system property, which shadows the value of the key in the snapshot.
+     *
+     * @param key the key
+     * @return true if the key is a system property.
+     */
+    boolean isSystemProperty(final String key) {
+        return this.systemConfiguration.containsKey(key);
+    }
+
+    /**
+     * Streams every key with its resolved value, in no particular order.
+     * Each key is resolved once: system properties and keys the snapshot leaves to be resolved on read are looked up live,
+     * everything else is streamed straight from the resolved snapshot.
+     *
+     * @return the keys with their values.
+     */
+    Stream<Map.Entry<String, String>> getValues() {
+        final EnvConfigSnapshot resolved = this.snapshot.get();
+        final Stream<String> liveKeys = Stream.concat(
+            StreamSupport.stream(Spliterators.spliteratorUnknownSize(this.systemConfiguration.getKeys(), Spliterator.DISTINCT), false),
+            resolved.getLiveKeys().stream().filter(key -> !this.systemConfiguration.containsKey(key)));
+        return Stream.concat(
+                liveKeys.<Map.Entry<String, String>>map(key -> new AbstractMap.SimpleImmutableEntry<>(key, this.configuration.getString(key))),
+                resolved.getValues().entrySet().stream().filter(entry -> !this.systemConfiguration.containsKey(entry.getKey())))
+            .filter(entry -> null != entry.getValue());
+    }
+
+    /**
+     * Streams the keys starting with the given prefix, in no particular order.
+     * Keys are found through the sorted key index of the snapshot, so only the matching keys are visited,
+     * besides the system properties which are looked up live.
+     *
+     * @param prefix the prefix
+     * @return the keys starting with the prefix.
+     */
+    Stream<String> getKeys(final String prefix) {
+        final List<String> systemKeys = new ArrayList<>();
+        this.systemConfiguration.getKeys().forEachRemaining(key -> {
+            if (key.startsWith(prefix)) {
+                systemKeys.add(key);
+            }
+        });
+        return Stream.concat(systemKeys.stream(),
+            this.snapshot.get().getKeys(prefix).stream().filter(key -> !this.systemConfiguration.containsKey(key)));
+    }
+
+    /**
+     * Returns the value of a key converted with the given converter.
+     * Conversions are cached per key until the raw value changes.
+     *
+     * @param key        the key
+     * @param conversion identifies the conversion, i.e. the target type or the list delimiter
+     * @param converter  converts the raw value
+     * @param <T>        the target type
+     * @return the converted value or null when not present.
+     */
+    <T> T getValue(final String key, final Object conversion, final Function<String, T> converter) {
+        final String value = getValue(key);
+        return null == value ? null : this.valueCache.get(key, value, conversion, converter);
+    }
+
+    /**
+     * Returns the properties under a namespace bound to a record.
+     * The record is cached until a key under the namespace is set, cleared or reloaded.
+     * When any key under the namespace is resolved on read, i.e. a system property or an interpolated value,
+     * the record is bound again on every call instead, as it is once a system property set later shadows a key of the record.
+     *
+     * @param namespace the namespace, empty or ending with a dot
+     * @param type      the record class
+     * @param <T>       the type of the record
+     * @return the bound record.
+     */
+    <T extends Record> T getBinding(final String namespace, final Class<T> type) {
+        T bound = this.bindingCache.get(namespace, type, this::isSystemProperty);
+        if (null == bound) {
+            final EnvConfigBinder<T> binder = EnvConfigBinder.of(type);
+            synchronized (this.lock) {
+                bound = binder.bind(namespace, this::getValue);
+                if (getKeys(namespace).noneMatch(this::isResolvedOnRead)) {
+                    this.bindingCache.put(namespace, type, bound, binder.getKeys(namespace).toArray(String[]::new));
+                }
+            }
+        }
+        return bound;
+    }
+
+    void setProperty(final String key, final Object value) {
+        update(() -> List.of(key), () -> {
+            this.configuration.setProperty(key, value);
+            this.clearedEnvKeys.add(key);
+            return List.of(key);
+        });
+    }
+
+    void addProperty(final String key, final Object value) {
+        update(() -> List.of(key), () -> {
+            this.configuration.addProperty(key, value);
+            return List.of(key);
+        });
+    }
+
+    void clearProperty(final String key) {
+        update(() -> List.of(key), () -> {
+            this.configuration.clearProperty(key);
+            this.clearedEnvKeys.add(key);
+            return List.of(key);
+        });
+    }
+
+    /**
+     * Replaces the contents of a layer, re-resolving only the keys whose values changed.
+     *
+     * @param layer    the layer to update
+     * @param contents the new contents of the layer
+     */
+    void swapLayer(final EnvConfigLayer layer, final Configuration contents) {
+        update(() -> {
+            final Set<String> keys = new HashSet<>();
+            layer.getKeys().forEachRemaining(keys::add);
+            contents.getKeys().forEachRemaining(keys::add);
+            return keys;
+        }, () -> layer.swap(contents));
+    }
+
+    /**
+     * Replaces the contents of a reloaded property file layer.
+     * Environment variables equal to a file value were left out when loading, so they are left out again
+     * against the reloaded files and an environment variable differing from the edited file overrides it, as after a restart.
+     *
+     * @param layer    the layer of the property file
+     * @param contents the new contents of the layer
+     */
+    private void reloadFileLayer(final EnvConfigLayer layer, final Configuration contents) {
+        update(() -> {
+            final Set<String> keys = new HashSet<>();
+            layer.getKeys().forEachRemaining(keys::add);
+            contents.getKeys().forEachRemaining(keys::add);
+            return keys;
+        }, () -> {
+            final Set<String> changedKeys = layer.swap(contents);
+            changedKeys.addAll(this.envLayer.swap(getReloadedEnvOverrides()));
+            return changedKeys;
+        });
+    }
+
+    /**
+     * Returns the environment variables again, without those equal to the reloaded file values
+     * and those cleared or set at runtime.
+     */
+    private Configuration getReloadedEnvOverrides() {
+        final Configuration envOverrides = new EnvironmentVariables(this.keyAliases).getEnvironmentConfiguration();
+        this.clearedEnvKeys.forEach(envOverrides::clearProperty);
+        pruneEnvOverrides(envOverrides, this.envConfigurations);
+        return envOverrides;
+    }
+
+    /**
+     * Applies a change under the lock and re-resolves the keys it touched.
+     * When there are listeners, the values of the keys that may change are compared before and after
+     * and the listeners are notified of the keys whose values actually changed.
+     * Interpolated keys are always compared, as their values change with the keys they reference.
+     * The key aliases normalised by the change, e.g. of a reloaded file, are emptied again once it is applied.
+     *
+     * @param candidates the keys that may change
+     * @param change     applies the change and returns the keys it touched
+     */
+    private void update(final Supplier<Collection<String>> candidates, final Supplier<Collection<String>> change) {
+        synchronized (this.lock) {
+            final boolean listening = !LISTENERS.isEmpty();
+            final Map<String, String> previous = new HashMap<>();
+            if (listening) {
+                candidates.get().forEach(key -> previous.put(key, getValue(key)));
+                this.snapshot.get().getLiveKeys().forEach(key -> previous.put(key, getValue(key)));
+            }
+            final Collection<String> changedKeys = change.get();
+            refresh(changedKeys);
+            this.keyAliases.clear();
+            if (listening) {
+                final Set<String> keys = new HashSet<>(changedKeys);
+                keys.addAll(this.snapshot.get().getLiveKeys());
+                keys.addAll(previous.keySet());
+                LISTENERS.publish(EnvConfigChange.of(keys, previous::get, this::getValue));
+            }
+        }
+    }
+
+    /**
+     * Stops any background work started while loading, such as refreshing vault secrets or watching property files.
+     */
+    void close() {
+        if (null != this.vaultConfiguration) {
+            this.vaultConfiguration.close();
+        }
+        if (null != this.fileWatcher) {
+            this.fileWatcher.close();
+        }
+    }
+
+    private void refresh(final Collection<String> keys) {
+        if (!keys.isEmpty()) {
+            this.snapshot.set(this.snapshot.get().with(getSnapshotLayers(), keys));
+            keys.forEach(this.valueCache::invalidate);
+            this.bindingCache.invalidate(keys);
+        }
+    }
+
+    private List<Configuration> getSnapshotLayers() {
+        final List<Configuration> layers = new ArrayList<>();
+        for (int i = 0; i < this.configuration.getNumberOfConfigurations(); i++) {
+            final Configuration layer = this.configuration.getConfiguration(i);
+            if (!(layer instanceof SystemConfiguration)) {
+                layers.add(layer);
+            }
         }
-        LOG.debug("Loading config from environment directories {}", environments);
-        environments.forEach(env -> this.configuration.addConfiguration(envConfiguration.get(env)));
+        return layers;
+    }
+
+    private boolean isVaultValidatedAsync() {
+        return this.configProperties.isConfigVaultEnabled()
+            && this.configProperties.getVaultProperties().getValidationProperties().isAsync();
+    }
+
+    private VaultConfiguration newVaultConfiguration() {
+        final EnvConfigVaultProperties vaultProperties = this.configProperties.getVaultProperties();
+        final String address = vaultProperties.getAddress();
+        final String namespace = vaultProperties.getNamespace();
+        LOG.debug("Loading config from vault {} namespace {}", address, namespace);
+        return new VaultConfiguration(vaultProperties);
     }
 
     private void loadVaultConfigurations(final List<String> environments) {
         if (this.configProperties.isConfigVaultEnabled()) {
             final EnvConfigVaultProperties vaultProperties = this.configProperties.getVaultProperties();
-            final String address = vaultProperties.getAddress();
-            final String namespace = vaultProperties.getNamespace();
-            LOG.debug("Loading config from vault {} namespace {}", address, namespace);
-            final VaultConfiguration entries = new VaultConfiguration(vaultProperties);
+            if (null == this.vaultConfiguration) {
+                this.vaultConfiguration = this.loadPhases.time(Phase.VAULT_CONNECT, this::newVaultConfiguration);
+            }
+            final VaultConfiguration entries = this.vaultConfiguration;
+            final List<Callable<Configuration>> secrets = new ArrayList<>();
             environments.forEach(env -> {
-                this.configuration.addConfiguration(entries.getConfiguration(env, vaultProperties.getSecretPath()));
-                vaultProperties.getDefaultPath().ifPresent(path -> this.configuration.addConfiguration(entries.getConfiguration(env, path)));
+                secrets.add(() -> entries.getConfiguration(env, vaultProperties.getSecretPath()));
+                vaultProperties.getDefaultPath().ifPresent(path -> secrets.add(() -> entries.getConfiguration(env, path)));
             });
+            final List<Configuration> configurations = this.loadPhases.time(Phase.VAULT_READ,
+                () -> EnvConfigTasks.invokeAll(secrets, this.configProperties.getVaultReadParallelism(), "env-config-vault"));
+            this.loadPhases.move(Phase.VAULT_READ, Phase.VAULT_CONNECT, entries.getValidationWaitNanos());
+            configurations.forEach(this.configuration::addConfiguration);
         }
     }
 
@@ -60,10 +404,27 @@ class EnvConfigLoader {
     }
 
     private void loadEnvConfigurations(final Map<String, Configuration> configurationMap) {
-        final EnvironmentVariables variables = new EnvironmentVariables();
+        final EnvironmentVariables variables = new EnvironmentVariables(this.keyAliases);
         LOG.debug("Loading config from system.properties");
-        this.configuration.addConfiguration(variables.getSystemConfiguration());
+        this.systemConfiguration = variables.getSystemConfiguration();
+        this.configuration.addConfiguration(this.systemConfiguration);
         final Configuration envOverrides = variables.getEnvironmentConfiguration();
+        pruneEnvOverrides(envOverrides, configurationMap);
+        LOG.debug("Loading config from system.env");
+        if (this.configProperties.isReloadEnabled()) {
+            this.envConfigurations = configurationMap;
+            this.envLayer = new EnvConfigLayer(envOverrides);
+            this.configuration.addConfiguration(this.envLayer);
+        } else {
+            this.configuration.addConfiguration(envOverrides);
+        }
+    }
+
+    /**
+     * Clears the environment variables equal to the value of the current environment,
+     * or of the default environment when the current environment doesn't override it.
+     */
+    private void pruneEnvOverrides(final Configuration envOverrides, final Map<String, Configuration> configurationMap) {
         final Configuration currentEnvironment = configurationMap.get(this.configProperties.getCurrentEnvironment());
         currentEnvironment.getKeys().forEachRemaining(key -> {
             if (envOverrides.containsKey(key)
@@ -81,53 +442,120 @@ class EnvConfigLoader {
                 }
             });
         }
-        LOG.debug("Loading config from system.env");
-        this.configuration.addConfiguration(envOverrides);
     }
 
-    private Map<String, Configuration> getEnvironmentProfileConfiguration(final List<String> environments, final String configProfile) {
-        final Map<String, Configuration> configurationMap = new HashMap<>();
-        environments.forEach(env -> configurationMap.put(
-            env, getConfiguration(new EnvConfigProfileFileList(this.configProperties.getConfigProfilePath(env, configProfile)))));
-        return configurationMap;
+    /**
+     * When enabled, drops the properties of an environment that resolve to the same value in its parent environments,
+     * so an environment only keeps its delta from the parents and a lookup falls through to the parent's value.
+     * Not applied when hot reload is enabled, as an edit to a parent file would then change the value seen by its child.
+     */
+    private void retainDelta(final List<String> environments, final Map<String, Configuration> configurationMap) {
+        if (!this.configProperties.isDeltaEnabled() || this.configProperties.isReloadEnabled()) {
+            return;
+        }
+        for (int i = 0; i < environments.size() - 1; i++) {
+            final List<Configuration> parents = environments.subList(i + 1, environments.size()).stream()
+                .map(configurationMap::get)
+                .toList();
+            final int shared = retainDelta((CompositeConfiguration) configurationMap.get(environments.get(i)), parents);
+            LOG.debug("Environment {} shares {} keys with its parents", environments.get(i), shared);
+        }
+    }
+
+    private static int retainDelta(final CompositeConfiguration environment, final List<Configuration> parents) {
+        final Configuration parent = new CompositeConfiguration(parents);
+        final List<String> shared = new ArrayList<>();
+        environment.getKeys().forEachRemaining(key -> {
+            if (Objects.equals(environment.getProperty(key), parent.getProperty(key))) {
+                shared.add(key);
+            }
+        });
+        shared.forEach(environment::clearProperty);
+        return shared.size();
     }
 
-    private Map<String, Configuration> getEnvironmentConfiguration(final List<String> environments) {
+    private Map<String, List<File>> getEnvironmentProfileFiles(final List<String> environments, final String configProfile) {
+        final Map<String, List<File>> filesMap = new HashMap<>();
+        environments.forEach(env -> filesMap.put(
+            env, getFiles(new EnvConfigProfileFileList(this.configProperties.getConfigProfilePath(env, configProfile)))));
+        return filesMap;
+    }
+
+    private Map<String, List<File>> getEnvironmentFiles(final List<String> environments) {
+        final Map<String, List<File>> filesMap = new HashMap<>();
+        environments.forEach(env -> filesMap.put(
+            env, getFiles(new EnvConfigFileList(this.configProperties.getConfigPath(env)))));
+        return filesMap;
+    }
+
+    private List<File> getFiles(final EnvConfigFileList fileList) {
+        final List<File> files = fileList.listFiles();
+        if (files.isEmpty() && LOG.isDebugEnabled()) {
+            LOG.debug("No property files found under {}", fileList.configPath);
+        }
+        return files;
+    }
+
+    private Map<String, Configuration> getConfiguration(final Map<String, List<File>> filesMap, final EnvConfigFileParser parser) {
         final Map<String, Configuration> configurationMap = new HashMap<>();
-        environments.forEach(env -> configurationMap.put(
-            env, getConfiguration(new EnvConfigFileList(this.configProperties.getConfigPath(env)))));
+        filesMap.forEach((env, files) -> {
+            final CompositeConfiguration configuration = new CompositeConfiguration();
+            files.forEach(file -> configuration.addConfiguration(getFileLayer(file, parser.get(file))));
+            configurationMap.put(env, configuration);
+        });
         return configurationMap;
     }
 
-    private Configuration getConfiguration(final EnvConfigFileList fileList) {
-        if (fileList.listFiles().isEmpty() && LOG.isDebugEnabled()) {
-            LOG.debug("No property files found under {}", fileList.configPath);
+    /**
+     * Property files are wrapped in a layer of their own when hot reload is enabled, so an edited file can be swapped in place.
+     */
+    private Configuration getFileLayer(final File file, final Configuration contents) {
+        Configuration layer = contents;
+        if (this.configProperties.isReloadEnabled()) {
+            final EnvConfigLayer fileLayer = new EnvConfigLayer(contents);
+            this.fileLayers.put(file, fileLayer);
+            layer = fileLayer;
         }
-        final CompositeConfiguration configuration = new CompositeConfiguration();
-        fileList.listFiles().forEach(file ->
-            configuration.addConfiguration(getFileConfigurationMap(file)));
-        return configuration;
+        return layer;
+    }
+
+    /**
+     * The file snapshot is only held whilst loading, so the decoded entries and the mapped snapshot are released once it is written.
+     */
+    private Configuration getFileConfiguration(final File file, final EnvConfigFileSnapshot fileSnapshot) {
+        return getKeyMapConfiguration(this.valuePool.intern(null == fileSnapshot
+            ? getFileProperties(file)
+            : fileSnapshot.get(file, this::getFileProperties)));
     }
 
     private Configuration getFileConfigurationMap(final File file) {
-        final Map<String, Object> configurationMap = new HashMap<>();
-        final Configuration properties = getConfigurationProperties(file);
-        properties.getKeys().forEachRemaining(key -> {
-            final Object value = properties.getProperty(key);
-            configurationMap.put(EnvConfigUtils.getProcessedPropertyKey(key), value);
-            configurationMap.put(EnvConfigUtils.getProcessedEnvKey(key), value);
-        });
+        return getKeyMapConfiguration(getFileProperties(file));
+    }
+
+    private Map<String, Object> getFileProperties(final File file) {
+        LOG.debug("Getting config from {}", file);
+        return EnvConfigPropertiesReader.read(file).orElseGet(() -> getConfigurationProperties(file));
+    }
+
+    /**
+     * Each property is stored once under its property key, and found by both its property and environment variable keys.
+     */
+    private Configuration getKeyMapConfiguration(final Map<String, Object> properties) {
+        final EnvConfigKeyMap<Object> configurationMap = new EnvConfigKeyMap<>(properties.size(), this.keyAliases::getPropertyKey);
+        properties.forEach(configurationMap::putProperty);
         return new MapConfiguration(configurationMap);
     }
 
-    private Configuration getConfigurationProperties(final File file) {
+    private Map<String, Object> getConfigurationProperties(final File file) {
         final Configuration configurationProperties;
         try {
-            LOG.debug("Getting config from {}", file);
+            LOG.debug("Falling back to the properties builder for {}", file);
             configurationProperties = new Configurations().properties(file);
         } catch (ConfigurationException e) {
             throw new EnvConfigException(e);
         }
-        return configurationProperties;
+        final Map<String, Object> properties = new LinkedHashMap<>();
+        configurationProperties.getKeys().forEachRemaining(key -> properties.put(key, configurationProperties.getProperty(key)));
+        return properties;
     }
 }
@@ -5,6 +5,7 @@ import static com.github.sitture.envconfig.EnvConfigUtils.getRequiredConfigPrope
 
 import java.io.File;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -40,6 +41,26 @@ class EnvConfigProperties {
         return getConfigProperty(EnvConfigKey.CONFIG_PROFILE, "");
     }
 
+    int getLoadParallelism() {
+        return Math.max(1, Integer.parseInt(getConfigProperty(EnvConfigKey.CONFIG_LOAD_PARALLELISM, "1")));
+    }
+
+    Optional<Path> getSnapshotFile() {
+        return Optional.ofNullable(getConfigProperty(EnvConfigKey.CONFIG_SNAPSHOT_FILE, null)).map(Path::of);
+    }
+
+    boolean isReloadEnabled() {
+        return Boolean.parseBoolean(getConfigProperty(EnvConfigKey.CONFIG_RELOAD_ENABLED, "false"));
+    }
+
+    Duration getReloadDebounce() {
+        return Duration.ofMillis(Long.parseLong(getConfigProperty(EnvConfigKey.CONFIG_RELOAD_DEBOUNCE, "500")));
+    }
+
+    boolean isDeltaEnabled() {
+        return Boolean.parseBoolean(getConfigProperty(EnvConfigKey.CONFIG_DELTA_ENABLED, "false"));
+    }
+
     private List<String> getEnvList() {
         final List<String> environments = new ArrayList<>();
         environments.add(EnvConfigUtils.CONFIG_ENV_DEFAULT);
@@ -92,6 +113,27 @@ class EnvConfigProperties {
             getRequiredConfigProperty(EnvConfigKey.CONFIG_VAULT_TOKEN),
             getRequiredConfigProperty(EnvConfigKey.CONFIG_VAULT_SECRET_PATH),
             getConfigProperty(EnvConfigKey.CONFIG_VAULT_DEFAULT_PATH, null),
-            Integer.parseInt(getConfigProperty(EnvConfigKey.CONFIG_VAULT_VALIDATE_MAX_RETRIES, "5")));
+            getVaultValidationProperties(),
+            getVaultCacheProperties());
+    }
+
+    private EnvConfigVaultValidationProperties getVaultValidationProperties() {
+        return new EnvConfigVaultValidationProperties(Integer.parseInt(getConfigProperty(EnvConfigKey.CONFIG_VAULT_VALIDATE_MAX_RETRIES, "5")),
+            Duration.ofMillis(Long.parseLong(getConfigProperty(EnvConfigKey.CONFIG_VAULT_VALIDATE_INITIAL_BACKOFF, "1000"))),
+            Duration.ofMillis(Long.parseLong(getConfigProperty(EnvConfigKey.CONFIG_VAULT_VALIDATE_MAX_BACKOFF, "30000"))),
+            Duration.ofMillis(Long.parseLong(getConfigProperty(EnvConfigKey.CONFIG_VAULT_VALIDATE_DEADLINE, "60000"))),
+            Boolean.parseBoolean(getConfigProperty(EnvConfigKey.CONFIG_VAULT_VALIDATE_ASYNC, "false")));
+    }
+
+    private EnvConfigVaultCacheProperties getVaultCacheProperties() {
+        final String snapshotFile = getConfigProperty(EnvConfigKey.CONFIG_VAULT_SNAPSHOT_FILE, null);
+        return new EnvConfigVaultCacheProperties(Boolean.parseBoolean(getConfigProperty(EnvConfigKey.CONFIG_VAULT_REFRESH_ENABLED, "false")),
+            Duration.ofMillis(Long.parseLong(getConfigProperty(EnvConfigKey.CONFIG_VAULT_REFRESH_TTL, "300000"))),
+            null == snapshotFile ? null : Path.of(snapshotFile),
+            null == snapshotFile ? null : getRequiredConfigProperty(EnvConfigKey.CONFIG_VAULT_SNAPSHOT_KEY));
+    }
+
+    int getVaultReadParallelism() {
+        return Math.max(1, Integer.parseInt(getConfigProperty(EnvConfigKey.CONFIG_VAULT_READ_PARALLELISM, "1")));
     }
 }
@@ -0,0 +1,224 @@
+package com.github.sitture.envconfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.apache.commons.configuration2.PropertiesConfiguration;
+
+/**
+ * A streaming reader for property files, producing the same properties as {@link PropertiesConfiguration}
+ * without its builder and layout machinery.
+ * Files are read as ISO-8859-1 in chunks from a {@link FileChannel} and parsed line by line.
+ * The rare files that need anything beyond the common syntax, i.e. include directives, escaped characters in keys
+ * or invalid unicode escapes, are reported as unsupported so they can be parsed by {@link PropertiesConfiguration} instead.
+ */
+final class EnvConfigPropertiesReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char NEXT_LINE = '\u0085';
+    private final Map<String, Object> properties = new LinkedHashMap<>();
+    private final StringBuilder continuation = new StringBuilder();
+    private byte[] line = new byte[256];
+    private int lineLength;
+    private boolean supported = true;
+
+    private EnvConfigPropertiesReader() {
+    }
+
+    /**
+     * Reads the properties of a file, in the order they first appear.
+     * A key that appears more than once has all its values as a list.
+     *
+     * @param file the property file
+     * @return the properties, or empty if the file needs the full {@link PropertiesConfiguration} parser.
+     */
+    static Optional<Map<String, Object>> read(final File file) {
+        final EnvConfigPropertiesReader reader = new EnvConfigPropertiesReader();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BUFFER_SIZE, Math.max(1, channel.size())));
+            boolean skipLineFeed = false;
+            while (reader.supported && channel.read(buffer) > 0) {
+                buffer.flip();
+                final byte[] bytes = buffer.array();
+                final int limit = buffer.limit();
+                for (int i = 0; i < limit && reader.supported; i++) {
+                    final byte b = bytes[i];
+                    if (b == '\n' && skipLineFeed) {
+                        skipLineFeed = false;
+                    } else if (b == '\n' || b == '\r') {
+                        skipLineFeed = b == '\r';
+                        reader.endLine();
+                    } else {
+                        skipLineFeed = false;
+                        reader.append(b);
+                    }
+                }
+                buffer.clear();
+            }
+            if (reader.lineLength > 0) {
+                reader.endLine();
+            }
+        } catch (IOException e) {
+            throw new EnvConfigException(e);
+        }
+        return reader.supported ? Optional.of(reader.properties) : Optional.empty();
+    }
+
+    private void append(final byte b) {
+        if (this.lineLength == this.line.length) {
+            this.line = Arrays.copyOf(this.line, this.lineLength * 2);
+        }
+        this.line[this.lineLength++] = b;
+    }
+
+    /**
+     * Handles a physical line like {@code PropertiesConfiguration.PropertiesReader}: blank and comment lines are skipped,
+     * even within a continuation, and lines ending in an odd number of backslashes are joined with the next line.
+     */
+    private void endLine() {
+        int start = 0;
+        int end = this.lineLength;
+        this.lineLength = 0;
+        while (start < end && (this.line[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (this.line[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+        if (start == end || this.line[start] == '#' || this.line[start] == '!') {
+            return;
+        }
+        int backslashes = 0;
+        while (end - backslashes > start && this.line[end - 1 - backslashes] == '\\') {
+            backslashes++;
+        }
+        if (backslashes % 2 == 1) {
+            this.continuation.append(new String(this.line, start, end - 1 - start, StandardCharsets.ISO_8859_1));
+        } else if (this.continuation.isEmpty()) {
+            property(new String(this.line, start, end - start, StandardCharsets.ISO_8859_1));
+        } else {
+            this.continuation.append(new String(this.line, start, end - start, StandardCharsets.ISO_8859_1));
+            property(this.continuation.toString());
+            this.continuation.setLength(0);
+        }
+    }
+
+    /**
+     * Splits a logical line into key and value the way {@code PropertiesReader.PROPERTY_PATTERN} does:
+     * the key runs up to the first whitespace, {@code =} or {@code :}, followed by an optional separator.
+     */
+    private void property(final String property) {
+        int separator = 0;
+        while (separator < property.length() && !isKeyEnd(property.charAt(separator))) {
+            separator++;
+        }
+        // escaped key characters need commons-text unescaping, and the pattern does not match a next line character
+        if (separator < property.length() && property.charAt(separator) == '\\' || property.indexOf(NEXT_LINE) >= 0) {
+            this.supported = false;
+            return;
+        }
+        final String key = property.substring(0, separator).trim();
+        if (isInclude(key)) {
+            this.supported = false;
+            return;
+        }
+        int valueStart = separator;
+        while (valueStart < property.length() && isWhitespace(property.charAt(valueStart))) {
+            valueStart++;
+        }
+        if (valueStart < property.length() && isSeparator(property.charAt(valueStart))) {
+            valueStart++;
+        }
+        final String value = unescape(property.substring(valueStart).trim());
+        if (null != value) {
+            this.properties.merge(key, value, EnvConfigPropertiesReader::addValue);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object addValue(final Object previous, final Object value) {
+        final List<Object> values;
+        if (previous instanceof List) {
+            values = (List<Object>) previous;
+        } else {
+            values = new ArrayList<>();
+            values.add(previous);
+        }
+        values.add(value);
+        return values;
+    }
+
+    /**
+     * Unescapes a value like {@code PropertiesConfiguration.unescapeJava}.
+     * Escapes other than {@code \r \f \t \n \b}, unicode and {@code : # = ! \ ' "} keep their backslash.
+     */
+    private String unescape(final String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        final StringBuilder unescaped = new StringBuilder(value.length());
+        int i = 0;
+        while (i < value.length()) {
+            final char c = value.charAt(i++);
+            if (c != '\\') {
+                unescaped.append(c);
+            } else if (i == value.length()) {
+                unescaped.append('\\');
+            } else {
+                final char escaped = value.charAt(i++);
+                switch (escaped) {
+                    case 'r' -> unescaped.append('\r');
+                    case 'f' -> unescaped.append('\f');
+                    case 't' -> unescaped.append('\t');
+                    case 'n' -> unescaped.append('\n');
+                    case 'b' -> unescaped.append('\b');
+                    case 'u' -> {
+                        if (i + 4 <= value.length()) {
+                            try {
+                                unescaped.append((char) Integer.parseInt(value.substring(i, i + 4), 16));
+                            } catch (NumberFormatException e) {
+                                this.supported = false;
+                                return null;
+                            }
+                        }
+                        i += 4;
+                    }
+                    case ':', '#', '=', '!', '\\', '\'', '"' -> unescaped.append(escaped);
+                    default -> unescaped.append('\\').append(escaped);
+                }
+            }
+        }
+        return unescaped.toString();
+    }
+
+    private static boolean isInclude(final String key) {
+        final String include = PropertiesConfiguration.getInclude();
+        final String includeOptional = PropertiesConfiguration.getIncludeOptional();
+        return null != include && !include.isEmpty() && key.equalsIgnoreCase(include)
+            || null != includeOptional && !includeOptional.isEmpty() && key.equalsIgnoreCase(includeOptional);
+    }
+
+    private static boolean isKeyEnd(final char c) {
+        return c == '\\' || isSeparator(c) || isWhitespace(c);
+    }
+
+    private static boolean isSeparator(final char c) {
+        return c == '=' || c == ':';
+    }
+
+    /**
+     * Whitespace as matched by {@code \s} in a regular expression.
+     */
+    private static boolean isWhitespace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.sitture.envconfig;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the key and default value of a getter of an {@link EnvConfigAccessor} interface.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface EnvConfigProperty {
+
+    /**
+     * The key of the property within the prefix of the interface.
+     *
+     * @return the key, or empty for the name of the getter with its camel case words separated by dots, i.e. {@code max.size}.
+     */
+    String value() default "";
+
+    /**
+     * The value used when the property is not present, checked against the type of the getter at compile time.
+     *
+     * @return a single default value, or none when the property is required for primitive getters and null otherwise.
+     */
+    String[] defaultValue() default {};
+}
@@ -0,0 +1,207 @@
+package com.github.sitture.envconfig;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.apache.commons.configuration2.CompositeConfiguration;
+import org.apache.commons.configuration2.Configuration;
+
+final class EnvConfigSnapshot {
+
+    private static final String INTERPOLATION_START = "${";
+    private final Map<String, String> values;
+    private final Set<String> liveKeys;
+    private final String[] sortedKeys;
+
+    /**
+     * Takes ownership of the given immutable maps, which are not copied again.
+     */
+    private EnvConfigSnapshot(final Map<String, String> values, final Set<String> liveKeys, final String... sortedKeys) {
+        this.values = values;
+        this.liveKeys = liveKeys;
+        this.sortedKeys = sortedKeys;
+    }
+
+    /**
+     * Resolves every key of the given layers into a flat, immutable snapshot.
+     * Layers are expected in precedence order, as held by the composite configuration.
+     *
+     * @param layers the configuration layers, highest precedence first.
+     * @return the resolved snapshot.
+     */
+    static EnvConfigSnapshot of(final Collection<Configuration> layers) {
+        final CompositeConfiguration resolver = new CompositeConfiguration(layers);
+        final Map<String, String> values = new HashMap<>();
+        final Set<String> liveKeys = new HashSet<>();
+        resolver.getKeys().forEachRemaining(key -> resolve(resolver, key, values, liveKeys));
+        return new EnvConfigSnapshot(Map.copyOf(values), Set.copyOf(liveKeys),
+            Stream.concat(values.keySet().stream(), liveKeys.stream()).sorted().toArray(String[]::new));
+    }
+
+    /**
+     * Returns a copy of this snapshot with the given key re-resolved against the layers.
+     *
+     * @param layers the configuration layers, highest precedence first.
+     * @param key    the key to re-resolve.
+     * @return the updated snapshot.
+     */
+    EnvConfigSnapshot with(final Collection<Configuration> layers, final String key) {
+        return with(layers, Set.of(key));
+    }
+
+    /**
+     * Returns a copy of this snapshot with the given keys re-resolved against the layers.
+     * Only the given keys are resolved again, and the other resolved values are copied once into the new snapshot.
+     * The sorted key index is updated by removing and inserting the re-resolved keys, without sorting all keys again.
+     *
+     * @param layers the configuration layers, highest precedence first.
+     * @param keys   the keys to re-resolve.
+     * @return the updated snapshot.
+     */
+    EnvConfigSnapshot with(final Collection<Configuration> layers, final Collection<String> keys) {
+        final Configuration resolver = new CompositeConfiguration(layers);
+        final Set<String> changed = Set.copyOf(keys);
+        final Map<String, String> resolvedValues = new HashMap<>();
+        final Set<String> resolvedLiveKeys = new HashSet<>();
+        changed.forEach(key -> resolve(resolver, key, resolvedValues, resolvedLiveKeys));
+        @SuppressWarnings("unchecked")
+        final Map.Entry<String, String>[] values = Stream.concat(
+                this.values.entrySet().stream().filter(entry -> !changed.contains(entry.getKey())),
+                resolvedValues.entrySet().stream())
+            .toArray(Map.Entry[]::new);
+        final String[] liveKeys = Stream.concat(
+                this.liveKeys.stream().filter(key -> !changed.contains(key)),
+                resolvedLiveKeys.stream())
+            .toArray(String[]::new);
+        final int[] removed = changed.stream()
+            .mapToInt(key -> Arrays.binarySearch(this.sortedKeys, key))
+            .filter(position -> position >= 0)
+            .sorted()
+            .toArray();
+        final String[] added = Stream.concat(resolvedValues.keySet().stream(), resolvedLiveKeys.stream())
+            .sorted()
+            .toArray(String[]::new);
+        return new EnvConfigSnapshot(Map.ofEntries(values), Set.of(liveKeys), insert(remove(this.sortedKeys, removed), added));
+    }
+
+    private static void resolve(final Configuration resolver, final String key,
+                                final Map<String, String> values, final Set<String> liveKeys) {
+        final Object property = resolver.getProperty(key);
+        if (null == property) {
+            return;
+        }
+        if (String.valueOf(property).contains(INTERPOLATION_START)) {
+            liveKeys.add(key);
+            return;
+        }
+        final String value = resolver.getString(key);
+        if (null != value) {
+            values.put(key, value);
+        }
+    }
+
+    /**
+     * Returns the resolved value of a key.
+     *
+     * @param key the key
+     * @return the value or null when the key is not present in the snapshot.
+     */
+    String get(final String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Returns the resolved values of the keys that are not resolved on read.
+     *
+     * @return the resolved values, by key.
+     */
+    Map<String, String> getValues() {
+        return values;
+    }
+
+    /**
+     * Returns the keys starting with the given prefix, in sorted order.
+     * The keys are found with a binary search on the sorted key index, so only the matching keys are visited.
+     *
+     * @param prefix the prefix, an empty prefix returns all keys.
+     * @return the keys starting with the prefix.
+     */
+    List<String> getKeys(final String prefix) {
+        final int position = Arrays.binarySearch(this.sortedKeys, prefix);
+        final int from = position < 0 ? -position - 1 : position;
+        int to = from;
+        while (to < this.sortedKeys.length && this.sortedKeys[to].startsWith(prefix)) {
+            to++;
+        }
+        return Collections.unmodifiableList(Arrays.asList(this.sortedKeys).subList(from, to));
+    }
+
+    /**
+     * Returns the keys that are resolved on read.
+     *
+     * @return the keys resolved on read.
+     * @see #isLive(String)
+     */
+    Set<String> getLiveKeys() {
+        return liveKeys;
+    }
+
+    /**
+     * Whether the value of a key has to be resolved on read, because it references other keys and needs interpolation.
+     *
+     * @param key the key
+     * @return true if the key is resolved on read.
+     */
+    boolean isLive(final String key) {
+        return !liveKeys.isEmpty() && liveKeys.contains(key);
+    }
+
+    /**
+     * Removes the keys at the given positions from the sorted keys.
+     *
+     * @param keys      the sorted keys
+     * @param positions the positions to remove, sorted
+     * @return the remaining keys.
+     */
+    private static String[] remove(final String[] keys, final int... positions) {
+        final String[] remaining = new String[keys.length - positions.length];
+        int from = 0;
+        int to = 0;
+        for (final int position : positions) {
+            System.arraycopy(keys, from, remaining, to, position - from);
+            to += position - from;
+            from = position + 1;
+        }
+        System.arraycopy(keys, from, remaining, to, keys.length - from);
+        return remaining;
+    }
+
+    /**
+     * Inserts keys into the sorted keys, keeping them sorted.
+     *
+     * @param keys  the sorted keys
+     * @param added the keys to insert, sorted and not already present
+     * @return the keys with the inserted keys.
+     */
+    private static String[] insert(final String[] keys, final String... added) {
+        final String[] inserted = new String[keys.length + added.length];
+        int from = 0;
+        int to = 0;
+        for (final String key : added) {
+            final int position = -Arrays.binarySearch(keys, from, keys.length, key) - 1;
+            System.arraycopy(keys, from, inserted, to, position - from);
+            to += position - from;
+            inserted[to++] = key;
+            from = position;
+        }
+        System.arraycopy(keys, from, inserted, to, keys.length - from);
+        return inserted;
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.github.sitture.envconfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@SuppressWarnings("PMD.DoNotUseThreads")
+final class EnvConfigTasks {
+
+    private EnvConfigTasks() {
+    }
+
+    /**
+     * Runs the given tasks with at most the given number running at the same time.
+     * Results are returned in the order of the tasks, and the first failing task in that order is rethrown.
+     *
+     * @param tasks       the tasks to run.
+     * @param parallelism the maximum number of tasks to run concurrently, tasks run on the calling thread when 1 or less.
+     * @param name        the name prefix of the threads.
+     * @param <T>         the result type
+     * @return the results in task order.
+     */
+    static <T> List<T> invokeAll(final List<Callable<T>> tasks, final int parallelism, final String name) {
+        final List<T> results = new ArrayList<>(tasks.size());
+        if (parallelism <= 1 || tasks.size() <= 1) {
+            tasks.forEach(task -> results.add(call(task)));
+        } else {
+            final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()), new EnvConfigThreadFactory(name));
+            try {
+                final List<Future<T>> futures = new ArrayList<>(tasks.size());
+                tasks.forEach(task -> futures.add(executor.submit(task)));
+                futures.forEach(future -> results.add(await(future)));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Waits for the result of a task, rethrowing its failure as an {@link EnvConfigException}.
+     *
+     * @param future the task result
+     * @param <T>    the result type
+     * @return the result.
+     */
+    static <T> T await(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EnvConfigException(e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof EnvConfigException exception ? exception : new EnvConfigException(e.getCause());
+        }
+    }
+
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static <T> T call(final Callable<T> task) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            throw e instanceof EnvConfigException exception ? exception : new EnvConfigException(e);
+        }
+    }
+}
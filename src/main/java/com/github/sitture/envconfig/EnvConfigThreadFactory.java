@@ -0,0 +1,22 @@
+package com.github.sitture.envconfig;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@SuppressWarnings("PMD.DoNotUseThreads")
+class EnvConfigThreadFactory implements ThreadFactory {
+
+    private final String name;
+    private final AtomicInteger count = new AtomicInteger();
+
+    EnvConfigThreadFactory(final String name) {
+        this.name = name;
+    }
+
+    @Override
+    public Thread newThread(final Runnable runnable) {
+        final Thread thread = new Thread(runnable, "%s-%d".formatted(name, count.incrementAndGet()));
+        thread.setDaemon(true);
+        return thread;
+    }
+}
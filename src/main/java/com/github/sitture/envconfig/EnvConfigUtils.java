@@ -10,16 +10,88 @@ final class EnvConfigUtils {
     public static final String CONFIG_PATH_DEFAULT = "config";
     public static final String CONFIG_ENV_DEFAULT = "default";
     public static final String CONFIG_DELIMITER_DEFAULT = ",";
+    private static final char PROPERTY_SEPARATOR = '.';
+    private static final char ENV_SEPARATOR = '_';
+    private static final char ASCII_LIMIT = 0x80;
+    private static final int CASE_OFFSET = 'a' - 'A';
 
     private EnvConfigUtils() {
     }
 
     static String getProcessedPropertyKey(final String envVar) {
-        return envVar.replaceAll("_", ".").toLowerCase();
+        return isAscii(envVar)
+            ? normalise(envVar, ENV_SEPARATOR, PROPERTY_SEPARATOR, false)
+            : envVar.replace(ENV_SEPARATOR, PROPERTY_SEPARATOR).toLowerCase();
     }
 
     static String getProcessedEnvKey(final String property) {
-        return property.replaceAll("\\.", "_").toUpperCase();
+        return isAscii(property)
+            ? normalise(property, PROPERTY_SEPARATOR, ENV_SEPARATOR, true)
+            : property.replace(PROPERTY_SEPARATOR, ENV_SEPARATOR).toUpperCase();
+    }
+
+    /**
+     * Returns the property form of a camel case name, with its words separated by dots, i.e. {@code max.size} for {@code maxSize}.
+     * Used for both the getters of generated accessors and the components of bound records.
+     *
+     * @param name the getter or record component name
+     * @return the key.
+     */
+    static String getCamelCaseKey(final String name) {
+        final StringBuilder key = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            final char current = name.charAt(i);
+            if (Character.isUpperCase(current) && i > 0 && !Character.isUpperCase(name.charAt(i - 1))) {
+                key.append(PROPERTY_SEPARATOR);
+            }
+            key.append(Character.toLowerCase(current));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Whether a key is its own property form, i.e. an ascii key without upper case letters or underscores,
+     * without building the property form.
+     *
+     * @param key the key
+     * @return true if the key is in its property form.
+     */
+    static boolean isPropertyForm(final String key) {
+        boolean propertyForm = true;
+        for (int i = 0; propertyForm && i < key.length(); i++) {
+            final char current = key.charAt(i);
+            propertyForm = current < ASCII_LIMIT && current != ENV_SEPARATOR && (current < 'A' || current > 'Z');
+        }
+        return propertyForm;
+    }
+
+    static boolean isAscii(final String key) {
+        boolean ascii = true;
+        for (int i = 0; ascii && i < key.length(); i++) {
+            ascii = key.charAt(i) < ASCII_LIMIT;
+        }
+        return ascii;
+    }
+
+    private static String normalise(final String key, final char separator, final char replacement, final boolean upperCase) {
+        final char[] chars = new char[key.length()];
+        boolean changed = false;
+        for (int i = 0; i < chars.length; i++) {
+            final char current = key.charAt(i);
+            chars[i] = current == separator ? replacement : toCase(current, upperCase);
+            changed |= chars[i] != current;
+        }
+        return changed ? new String(chars) : key;
+    }
+
+    private static char toCase(final char current, final boolean upperCase) {
+        char converted = current;
+        if (upperCase && current >= 'a' && current <= 'z') {
+            converted = (char) (current - CASE_OFFSET);
+        } else if (!upperCase && current >= 'A' && current <= 'Z') {
+            converted = (char) (current + CASE_OFFSET);
+        }
+        return converted;
     }
 
     static List<String> getListOfValues(final String value, final String delimiter) {
@@ -0,0 +1,52 @@
+package com.github.sitture.envconfig;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+final class EnvConfigValueCache {
+
+    private final Map<String, Map<Object, Entry>> values = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the converted value of a key, converting and caching it on first use.
+     * A cached entry is only reused while the raw value it was converted from is unchanged.
+     *
+     * @param key        the key
+     * @param value      the current raw value of the key
+     * @param conversion identifies the conversion, i.e. the target type or the list delimiter
+     * @param converter  converts the raw value
+     * @param <T>        the target type
+     * @return the converted value
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(final String key, final String value, final Object conversion, final Function<String, T> converter) {
+        Map<Object, Entry> conversions = values.get(key);
+        if (null == conversions) {
+            conversions = values.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        }
+        Entry entry = conversions.get(conversion);
+        if (null == entry || !entry.isConvertedFrom(value)) {
+            entry = new Entry(value, converter.apply(value));
+            conversions.put(conversion, entry);
+        }
+        return (T) entry.converted();
+    }
+
+    /**
+     * Removes all cached conversions of a key.
+     *
+     * @param key the key
+     */
+    void invalidate(final String key) {
+        values.remove(key);
+    }
+
+    private record Entry(String value, Object converted) {
+
+        boolean isConvertedFrom(final String raw) {
+            return value.equals(raw);
+        }
+    }
+
+}
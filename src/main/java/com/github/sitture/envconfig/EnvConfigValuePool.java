@@ -0,0 +1,53 @@
+package com.github.sitture.envconfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+final class EnvConfigValuePool {
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+
+    /**
+     * Replaces the values of the given properties with the instances already in the pool,
+     * so a value repeated across environments and files is only held once.
+     *
+     * @param properties the properties read from a file, updated in place
+     * @return the properties.
+     */
+    Map<String, Object> intern(final Map<String, Object> properties) {
+        properties.replaceAll((key, value) -> intern(value));
+        return properties;
+    }
+
+    /**
+     * Returns the pooled instance of a value, adding it to the pool on first use.
+     * A list is copied with each of its elements pooled.
+     *
+     * @param value the value
+     * @return the pooled value.
+     */
+    Object intern(final Object value) {
+        final Object pooled;
+        if (value instanceof String string) {
+            final String existing = this.values.putIfAbsent(string, string);
+            pooled = null == existing ? string : existing;
+        } else if (value instanceof List<?> list) {
+            final List<Object> elements = new ArrayList<>(list.size());
+            list.forEach(element -> elements.add(intern(element)));
+            pooled = elements;
+        } else {
+            pooled = value;
+        }
+        return pooled;
+    }
+
+    /**
+     * Empties the pool once loading is done, values already pooled stay shared.
+     */
+    void clear() {
+        this.values.clear();
+    }
+
+}
@@ -0,0 +1,36 @@
+package com.github.sitture.envconfig;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+class EnvConfigVaultCacheProperties {
+
+    private final boolean refreshEnabled;
+    private final Duration ttl;
+    private final Path snapshotFile;
+    private final String snapshotKey;
+
+    EnvConfigVaultCacheProperties(final boolean refreshEnabled, final Duration ttl, final Path snapshotFile, final String snapshotKey) {
+        this.refreshEnabled = refreshEnabled;
+        this.ttl = ttl;
+        this.snapshotFile = snapshotFile;
+        this.snapshotKey = snapshotKey;
+    }
+
+    boolean isRefreshEnabled() {
+        return refreshEnabled;
+    }
+
+    Duration getTtl() {
+        return ttl;
+    }
+
+    Optional<Path> getSnapshotFile() {
+        return Optional.ofNullable(snapshotFile);
+    }
+
+    String getSnapshotKey() {
+        return snapshotKey;
+    }
+}
@@ -9,15 +9,18 @@ class EnvConfigVaultProperties {
     private final String token;
     private final String defaultPath;
     private final String secretPath;
-    private final int validateTokenMaxRetries;
+    private final EnvConfigVaultValidationProperties validationProperties;
+    private final EnvConfigVaultCacheProperties cacheProperties;
 
-    EnvConfigVaultProperties(final String address, final String namespace, final String token, final String secretPath, final String defaultPath, final int validateTokenMaxRetries) {
+    EnvConfigVaultProperties(final String address, final String namespace, final String token, final String secretPath, final String defaultPath,
+                             final EnvConfigVaultValidationProperties validationProperties, final EnvConfigVaultCacheProperties cacheProperties) {
         this.address = address;
         this.namespace = namespace;
         this.token = token;
         this.defaultPath = defaultPath;
         this.secretPath = secretPath;
-        this.validateTokenMaxRetries = validateTokenMaxRetries;
+        this.validationProperties = validationProperties;
+        this.cacheProperties = cacheProperties;
     }
 
     String getAddress() {
@@ -40,7 +43,11 @@ class EnvConfigVaultProperties {
         return secretPath;
     }
 
-    int getValidateTokenMaxRetries() {
-        return validateTokenMaxRetries;
+    EnvConfigVaultValidationProperties getValidationProperties() {
+        return validationProperties;
+    }
+
+    EnvConfigVaultCacheProperties getCacheProperties() {
+        return cacheProperties;
     }
 }
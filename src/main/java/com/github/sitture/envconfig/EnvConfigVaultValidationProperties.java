@@ -0,0 +1,41 @@
+package com.github.sitture.envconfig;
+
+import java.time.Duration;
+
+class EnvConfigVaultValidationProperties {
+
+    private final int maxRetries;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration deadline;
+    private final boolean async;
+
+    EnvConfigVaultValidationProperties(final int maxRetries, final Duration initialBackoff, final Duration maxBackoff,
+                                       final Duration deadline, final boolean async) {
+        this.maxRetries = maxRetries;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.deadline = deadline;
+        this.async = async;
+    }
+
+    int getMaxRetries() {
+        return maxRetries;
+    }
+
+    Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    Duration getDeadline() {
+        return deadline;
+    }
+
+    boolean isAsync() {
+        return async;
+    }
+}
@@ -1,6 +1,5 @@
 package com.github.sitture.envconfig;
 
-import java.util.HashMap;
 import java.util.Map;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.MapConfiguration;
@@ -11,17 +10,15 @@ class EnvironmentVariables {
     private final Configuration systemConfiguration;
     private final Configuration environmentConfiguration;
 
-    EnvironmentVariables() {
+    EnvironmentVariables(final EnvConfigKeyAliases keyAliases) {
         systemConfiguration = new SystemConfiguration();
-        environmentConfiguration = new MapConfiguration(getEnvMap());
+        environmentConfiguration = new MapConfiguration(getEnvMap(keyAliases));
     }
 
-    private static Map<String, String> getEnvMap() {
-        final Map<String, String> envMap = new HashMap<>();
-        System.getenv().forEach((key, value) -> {
-            envMap.put(key, value);
-            envMap.put(EnvConfigUtils.getProcessedPropertyKey(key), value);
-        });
+    private static Map<String, String> getEnvMap(final EnvConfigKeyAliases keyAliases) {
+        final Map<String, String> variables = System.getenv();
+        final EnvConfigKeyMap<String> envMap = new EnvConfigKeyMap<>(variables.size(), keyAliases::getPropertyKey);
+        variables.forEach(envMap::putVariable);
         return envMap;
     }
 
@@ -1,67 +1,56 @@
 package com.github.sitture.envconfig;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.MapConfiguration;
-import org.linguafranca.pwdb.Database;
 import org.linguafranca.pwdb.kdbx.KdbxCreds;
 import org.linguafranca.pwdb.kdbx.jackson.JacksonDatabase;
-import org.linguafranca.pwdb.kdbx.jackson.JacksonEntry;
-import org.linguafranca.pwdb.kdbx.jackson.JacksonGroup;
-import org.linguafranca.pwdb.kdbx.jackson.JacksonIcon;
 
 class KeepassConfiguration {
 
     private static final String KEEPASS_DB_FILE_EXTENSION = ".kdbx";
-    private final Database<JacksonDatabase, JacksonGroup, JacksonEntry, JacksonIcon> database;
+    private static final int MAX_CACHED_DATABASES = 8;
+    private static final KeepassDatabaseCache<KeepassDatabaseIndex> DATABASES = new KeepassDatabaseCache<>(MAX_CACHED_DATABASES);
+    private final KeepassDatabaseIndex database;
 
     KeepassConfiguration(final EnvConfigKeepassProperties keepassProperties) {
         final String groupName = keepassProperties.getFilename();
         final String keePassGroupName = null != groupName && groupName.endsWith(KEEPASS_DB_FILE_EXTENSION)
             ? groupName.split(KEEPASS_DB_FILE_EXTENSION)[0]
             : groupName;
+        final byte[] masterKey = keepassProperties.getMasterKey().getBytes(StandardCharsets.UTF_8);
+        final byte[] contents = getKeepassDatabaseContents(keePassGroupName.concat(KEEPASS_DB_FILE_EXTENSION));
+        database = DATABASES.get(contents, masterKey, () -> new KeepassDatabaseIndex(load(contents, masterKey)));
+    }
+
+    static KeepassDatabaseCache<KeepassDatabaseIndex> getDatabaseCache() {
+        return DATABASES;
+    }
+
+    private static JacksonDatabase load(final byte[] contents, final byte[] masterKey) {
         try {
-            database = JacksonDatabase.load(new KdbxCreds(keepassProperties.getMasterKey().getBytes(StandardCharsets.UTF_8)),
-                getKeepassDatabase(keePassGroupName.concat(KEEPASS_DB_FILE_EXTENSION)));
+            return JacksonDatabase.load(new KdbxCreds(masterKey), new ByteArrayInputStream(contents));
         } catch (IOException e) {
             throw new EnvConfigException("Error opening database!", e);
         }
     }
 
     public Configuration getConfiguration(final String env) {
-        final String keePassGroupName = !database.getRootGroup().getGroups().isEmpty()
-            ? database.getRootGroup().getGroups().get(0).getName()
-            : "Root";
-        return new MapConfiguration(getEntriesMap(keePassGroupName, env));
+        return new MapConfiguration(database.getEntries(database.getDefaultGroup(), env));
     }
 
-    private InputStream getKeepassDatabase(final String fileName) {
-        final InputStream resource = ClassLoader.getSystemResourceAsStream(fileName);
-        if (null == resource) {
-            throw new EnvConfigException("Database %s does not exist!".formatted(fileName));
-        }
-        return resource;
-    }
-
-    private Map<String, String> getEntriesMap(final String groupName, final String env) {
-        final Optional<JacksonGroup> projectGroup = database.getRootGroup().getGroups().stream()
-            .filter(group -> group.getName().trim().equals(groupName)).findFirst();
-        if (projectGroup.isEmpty()) {
-            throw new IllegalArgumentException("Group %s not found in the database!".formatted(groupName));
+    private byte[] getKeepassDatabaseContents(final String fileName) {
+        try (InputStream resource = ClassLoader.getSystemResourceAsStream(fileName)) {
+            if (null == resource) {
+                throw new EnvConfigException("Database %s does not exist!".formatted(fileName));
+            }
+            return resource.readAllBytes();
+        } catch (IOException e) {
+            throw new EnvConfigException("Error opening database!", e);
         }
-        final Optional<JacksonGroup> envGroup = projectGroup.get().getGroups().stream().filter(group -> group.getName().trim().equals(env)).findFirst();
-        final Map<String, String> entriesMap = new HashMap<>();
-        envGroup.ifPresent(group -> group.getEntries()
-            .forEach(entry -> {
-                entriesMap.put(entry.getTitle().trim(), entry.getPassword());
-                entriesMap.put(EnvConfigUtils.getProcessedPropertyKey(entry.getTitle().trim()), entry.getPassword());
-            }));
-        return entriesMap;
     }
 
 }
@@ -0,0 +1,99 @@
+package com.github.sitture.envconfig;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A process-wide cache of decoded keepass databases, keyed by a hash of the database contents and the master key.
+ * Reloading an unchanged database, e.g. after a reset, skips the key derivation and decoding entirely.
+ *
+ * @param <T> the decoded database type
+ */
+final class KeepassDatabaseCache<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KeepassDatabaseCache.class);
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private final Map<String, T> databases;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    KeepassDatabaseCache(final int maxDatabases) {
+        this.databases = new LinkedHashMap<>(maxDatabases, 0.75f, true) {
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, T> eldest) {
+                return size() > maxDatabases;
+            }
+        };
+    }
+
+    /**
+     * Returns the decoded database for the given contents and master key, decoding it on a miss.
+     * Failed decodes, e.g. for a wrong master key, are not cached.
+     *
+     * @param contents  the raw database contents
+     * @param masterKey the master key
+     * @param decoder   decodes the database on a miss
+     * @return the decoded database.
+     */
+    T get(final byte[] contents, final byte[] masterKey, final Supplier<T> decoder) {
+        final String key = getKey(contents, masterKey);
+        T database;
+        synchronized (this.databases) {
+            database = this.databases.get(key);
+        }
+        if (null == database) {
+            this.misses.incrementAndGet();
+            database = decoder.get();
+            synchronized (this.databases) {
+                this.databases.put(key, database);
+            }
+        } else {
+            this.hits.incrementAndGet();
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Keepass database cache hits {} misses {} hit rate {}", this.hits.get(), this.misses.get(), getHitRate());
+        }
+        return database;
+    }
+
+    long getHits() {
+        return this.hits.get();
+    }
+
+    long getMisses() {
+        return this.misses.get();
+    }
+
+    /**
+     * The share of lookups served from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 before the first lookup.
+     */
+    double getHitRate() {
+        final long lookups = this.hits.get() + this.misses.get();
+        return 0 == lookups ? 0 : (double) this.hits.get() / lookups;
+    }
+
+    /**
+     * The master key is only ever held as part of a digest that is salted with the database contents.
+     */
+    private static String getKey(final byte[] contents, final byte[] masterKey) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            final byte[] contentsDigest = digest.digest(contents);
+            digest.update(contentsDigest);
+            digest.update(masterKey);
+            return HexFormat.of().formatHex(contentsDigest) + HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new EnvConfigException(e);
+        }
+    }
+}
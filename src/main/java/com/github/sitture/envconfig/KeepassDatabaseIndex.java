@@ -0,0 +1,70 @@
+package com.github.sitture.envconfig;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.linguafranca.pwdb.Database;
+import org.linguafranca.pwdb.kdbx.jackson.JacksonDatabase;
+import org.linguafranca.pwdb.kdbx.jackson.JacksonEntry;
+import org.linguafranca.pwdb.kdbx.jackson.JacksonGroup;
+import org.linguafranca.pwdb.kdbx.jackson.JacksonIcon;
+
+/**
+ * An index of the entries of a keepass database by project group and environment, built once when the database is loaded.
+ * Only the title and password of each entry are kept, so the decoded database, with the history, metadata and attachments
+ * of every entry, can be collected once the index is built.
+ * The entries of an environment are normalised into a new map for every layer, so no copy of the passwords is kept.
+ */
+final class KeepassDatabaseIndex {
+
+    private static final String ROOT_GROUP = "Root";
+    private final String defaultGroup;
+    private final Map<String, Map<String, List<Entry>>> groups = new HashMap<>();
+
+    KeepassDatabaseIndex(final Database<JacksonDatabase, JacksonGroup, JacksonEntry, JacksonIcon> database) {
+        final List<JacksonGroup> projectGroups = database.getRootGroup().getGroups();
+        this.defaultGroup = projectGroups.isEmpty() ? ROOT_GROUP : projectGroups.get(0).getName();
+        projectGroups.forEach(projectGroup -> this.groups.computeIfAbsent(projectGroup.getName().trim(), name -> {
+            final Map<String, List<Entry>> envGroups = new HashMap<>();
+            projectGroup.getGroups().forEach(envGroup -> envGroups.computeIfAbsent(envGroup.getName().trim(), env -> getEntries(envGroup)));
+            return envGroups;
+        }));
+    }
+
+    private static List<Entry> getEntries(final JacksonGroup envGroup) {
+        return envGroup.getEntries().stream()
+            .map(entry -> new Entry(entry.getTitle().trim(), entry.getPassword()))
+            .toList();
+    }
+
+    /**
+     * The project group used when none is specified, i.e. the first group under the root.
+     *
+     * @return the project group name.
+     */
+    String getDefaultGroup() {
+        return defaultGroup;
+    }
+
+    /**
+     * Returns the passwords of the entries of an environment group, by both their title and processed property key.
+     * The returned map is owned by the caller.
+     *
+     * @param groupName the project group name
+     * @param env       the environment group name
+     * @return the entry passwords, empty when the environment has no group.
+     */
+    Map<String, String> getEntries(final String groupName, final String env) {
+        final Map<String, List<Entry>> envGroups = this.groups.get(groupName);
+        if (null == envGroups) {
+            throw new IllegalArgumentException("Group %s not found in the database!".formatted(groupName));
+        }
+        final List<Entry> groupEntries = envGroups.getOrDefault(env, List.of());
+        final EnvConfigKeyMap<String> entriesMap = new EnvConfigKeyMap<>(groupEntries.size(), EnvConfigUtils::getProcessedPropertyKey);
+        groupEntries.forEach(entry -> entriesMap.putVariable(entry.title(), entry.password()));
+        return entriesMap;
+    }
+
+    private record Entry(String title, String password) {
+    }
+}
@@ -4,60 +4,154 @@ import io.github.jopenlibs.vault.Vault;
 import io.github.jopenlibs.vault.VaultConfig;
 import io.github.jopenlibs.vault.VaultException;
 import io.github.jopenlibs.vault.response.LogicalResponse;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import org.apache.commons.configuration2.Configuration;
 import org.apache.commons.configuration2.MapConfiguration;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+@SuppressWarnings("PMD.DoNotUseThreads")
 class VaultConfiguration {
 
     private static final Logger LOG = LoggerFactory.getLogger(VaultConfiguration.class);
+    private static final int MAX_BACKOFF_SHIFT = 30;
+    private static final long MIN_REFRESH_DELAY_MILLIS = 100;
+    private static final long MAX_TIMEOUT_SECONDS = Integer.MAX_VALUE;
     private final Vault vault;
     private final EnvConfigVaultProperties vaultProperties;
+    private final AtomicReference<Future<Void>> validation = new AtomicReference<>();
+    private final Map<String, VaultSecret> secrets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService refresher =
+        Executors.newSingleThreadScheduledExecutor(new EnvConfigThreadFactory("env-config-vault-refresh"));
+    private final VaultSecretSnapshot snapshot;
+    private final String snapshotScope;
+    private final Map<String, Map<String, String>> snapshotSecrets = new ConcurrentHashMap<>();
+    private final AtomicBoolean snapshotPending = new AtomicBoolean();
+    private final AtomicLong validationWaitNanos = new AtomicLong();
 
     VaultConfiguration(final EnvConfigVaultProperties vaultProperties) {
         this.vaultProperties = vaultProperties;
+        this.vault = createVault(vaultProperties.getValidationProperties().getDeadline());
+        final EnvConfigVaultCacheProperties cacheProperties = vaultProperties.getCacheProperties();
+        this.snapshot = cacheProperties.getSnapshotFile()
+            .map(file -> new VaultSecretSnapshot(file, cacheProperties.getSnapshotKey()))
+            .orElse(null);
+        this.snapshotScope = "%s|%s|".formatted(vaultProperties.getAddress(), Objects.toString(vaultProperties.getNamespace(), ""));
+        if (null != this.snapshot) {
+            this.snapshot.read().forEach((key, data) -> {
+                if (key.startsWith(this.snapshotScope)) {
+                    this.snapshotSecrets.put(key.substring(this.snapshotScope.length()), data);
+                }
+            });
+        }
+        if (vaultProperties.getValidationProperties().isAsync() || !this.snapshotSecrets.isEmpty()) {
+            final FutureTask<Void> task = new FutureTask<>(this::validateToken, null);
+            new EnvConfigThreadFactory("env-config-vault-validate").newThread(task).start();
+            this.validation.set(task);
+        } else {
+            validateToken();
+            this.validation.set(CompletableFuture.completedFuture(null));
+        }
+    }
+
+    /**
+     * Creates a vault client whose connections time out after the given timeout, rounded up to whole seconds,
+     * so a hung connection can't block loading indefinitely.
+     *
+     * @param timeout the open and read timeout
+     * @return the vault client.
+     */
+    private Vault createVault(final Duration timeout) {
         try {
+            final int timeoutSeconds = getTimeoutSeconds(timeout);
             final VaultConfig config = new VaultConfig()
-                .address(vaultProperties.getAddress())
-                .nameSpace(vaultProperties.getNamespace())
-                .token(vaultProperties.getToken())
+                .address(this.vaultProperties.getAddress())
+                .nameSpace(this.vaultProperties.getNamespace())
+                .token(this.vaultProperties.getToken())
+                .openTimeout(timeoutSeconds)
+                .readTimeout(timeoutSeconds)
                 .build();
-            this.vault = Vault.create(config);
-            validateToken();
+            return Vault.create(config);
         } catch (VaultException vaultException) {
             throw new EnvConfigException("Could not connect to vault", vaultException);
         }
     }
 
-    private void validateToken() throws VaultException {
-        final int validateTokenMaxRetries = this.vaultProperties.getValidateTokenMaxRetries();
-        for (int i = 0; i < validateTokenMaxRetries; i++) {
+    static int getTimeoutSeconds(final Duration timeout) {
+        return (int) Math.min(MAX_TIMEOUT_SECONDS, Math.max(1, timeout.plusSeconds(1).minusNanos(1).toSeconds()));
+    }
+
+    /**
+     * Validates the token, each attempt bounded by the time left until the deadline.
+     */
+    private void validateToken() {
+        final EnvConfigVaultValidationProperties validationProperties = this.vaultProperties.getValidationProperties();
+        final long deadline = System.nanoTime() + validationProperties.getDeadline().toNanos();
+        boolean validated = false;
+        for (int i = 0; !validated && i < validationProperties.getMaxRetries(); i++) {
             try {
-                this.vault.auth().lookupSelf();
-                break;
+                createVault(Duration.ofNanos(deadline - System.nanoTime())).auth().lookupSelf();
+                validated = true;
             } catch (VaultException vaultException) {
-                retryUntilMaxMaxRetries(vaultException, i, validateTokenMaxRetries);
+                retryUntilMaxMaxRetries(vaultException, i, validationProperties, deadline);
             }
         }
     }
 
-    private static void retryUntilMaxMaxRetries(final VaultException vaultException, final int attempt, final int validateTokenMaxRetries) {
-        final long retryInterval = attempt * 2L;
-        logError("An exception occurred validating the vault token, will retry in %s seconds".formatted(retryInterval), vaultException);
-        try {
-            TimeUnit.SECONDS.sleep(retryInterval);
-        } catch (InterruptedException ex) {
-            logError("InterruptedException thrown whilst waiting to retry validating the vault token", ex);
-        }
+    private static void retryUntilMaxMaxRetries(final VaultException vaultException, final int attempt,
+                                                final EnvConfigVaultValidationProperties validationProperties, final long deadline) {
+        final int validateTokenMaxRetries = validationProperties.getMaxRetries();
         if (attempt == validateTokenMaxRetries - 1) {
             final String message = "Reached CONFIG_VAULT_VALIDATE_MAX_RETRIES limit (%s) attempting to validate token".formatted(validateTokenMaxRetries);
             logError(message, vaultException);
-
             throw new EnvConfigException(message, vaultException);
         }
+        final long retryInterval = getBackoffMillis(attempt, validationProperties);
+        if (TimeUnit.MILLISECONDS.toNanos(retryInterval) > deadline - System.nanoTime()) {
+            final String message = "Reached CONFIG_VAULT_VALIDATE_DEADLINE (%s ms) attempting to validate token"
+                .formatted(validationProperties.getDeadline().toMillis());
+            logError(message, vaultException);
+            throw new EnvConfigException(message, vaultException);
+        }
+        logError("An exception occurred validating the vault token, will retry in %s ms".formatted(retryInterval), vaultException);
+        try {
+            TimeUnit.MILLISECONDS.sleep(retryInterval);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new EnvConfigException("Interrupted whilst waiting to retry validating the vault token", ex);
+        }
+    }
+
+    /**
+     * Exponential backoff capped at the max backoff, with equal jitter so that
+     * clients restarted at the same time don't retry in lockstep.
+     *
+     * @param attempt              the failed attempt, starting at 0
+     * @param validationProperties the validation properties
+     * @return the time to wait in milliseconds.
+     */
+    static long getBackoffMillis(final int attempt, final EnvConfigVaultValidationProperties validationProperties) {
+        final long backoff = Math.min(validationProperties.getMaxBackoff().toMillis(),
+            validationProperties.getInitialBackoff().toMillis() << Math.min(attempt, MAX_BACKOFF_SHIFT));
+        final long half = Math.max(0, backoff) / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
     }
 
     private static void logError(final String message, final Exception exception) {
@@ -68,6 +162,160 @@ class VaultConfiguration {
 
     public Configuration getConfiguration(final String env, final String path) {
         final String secret = "%s/%s".formatted(StringUtils.removeEnd(path, "/"), env);
+        VaultSecret cached = this.secrets.get(secret);
+        if (null == cached) {
+            final boolean required = EnvConfigUtils.CONFIG_ENV_DEFAULT.equals(env);
+            final Map<String, String> snapshotData = this.snapshotSecrets.get(secret);
+            final VaultSecret loaded;
+            if (null == snapshotData) {
+                final long start = System.nanoTime();
+                awaitValidation(false);
+                this.validationWaitNanos.accumulateAndGet(System.nanoTime() - start, Math::max);
+                final LogicalResponse response = read(secret, required);
+                loaded = new VaultSecret(secret, new EnvConfigLayer(getLayerContents(response.getData())),
+                    response.getData(), getTtl(response), false);
+                updateSnapshot(secret, response.getData());
+            } else {
+                LOG.debug("Loading config from snapshot of secret {}", secret);
+                loaded = new VaultSecret(secret, new EnvConfigLayer(getLayerContents(snapshotData)),
+                    snapshotData, Duration.ZERO, true);
+            }
+            cached = this.secrets.putIfAbsent(secret, loaded);
+            if (null == cached) {
+                cached = loaded;
+            }
+        }
+        return cached.layer();
+    }
+
+    /**
+     * The longest time a secret read at startup waited for the token to be validated in the background.
+     * Secrets read in parallel wait for the same validation, so this is the time loading was held up by it.
+     *
+     * @return the time in nanoseconds.
+     */
+    long getValidationWaitNanos() {
+        return this.validationWaitNanos.get();
+    }
+
+    /**
+     * Starts revalidating secrets served from the snapshot against vault straight away and, when enabled,
+     * refreshing every secret in the background once two thirds of its lease duration
+     * (or the configured ttl when vault doesn't return one) has passed.
+     * Secrets are only handed to the listener when their data changed since the last read.
+     *
+     * @param listener replaces the contents of the layer of a secret.
+     */
+    void refresh(final BiConsumer<EnvConfigLayer, Configuration> listener) {
+        this.secrets.values().forEach(secret -> {
+            if (secret.fromSnapshot()) {
+                schedule(() -> refresh(secret, secret.data(), listener, 0), 0);
+            } else if (isRefreshEnabled()) {
+                schedule(() -> refresh(secret, secret.data(), listener, 0), getRefreshDelayMillis(secret.ttl()));
+            }
+        });
+        if (this.snapshotSecrets.keySet().retainAll(this.secrets.keySet())) {
+            scheduleSnapshot();
+        }
+    }
+
+    /**
+     * Refreshes a secret, keeping its last data whilst vault can't be read.
+     * Unlike at startup, a secret vault doesn't return, i.e. once the token expired, is a failure for every environment,
+     * so it's retried with the validation backoff rather than emptying the layer and the snapshot.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void refresh(final VaultSecret secret, final Map<String, String> previous,
+                         final BiConsumer<EnvConfigLayer, Configuration> listener, final int attempt) {
+        try {
+            awaitValidation(true);
+            final LogicalResponse response = read(secret.name(), true);
+            final Map<String, String> data = response.getData();
+            if (!data.equals(previous)) {
+                LOG.debug("Refreshing config from secret {}", secret.name());
+                listener.accept(secret.layer(), getLayerContents(data));
+            }
+            updateSnapshot(secret.name(), data);
+            if (isRefreshEnabled()) {
+                schedule(() -> refresh(secret, data, listener, 0), getRefreshDelayMillis(getTtl(response)));
+            }
+        } catch (RuntimeException e) {
+            final long retryInterval = getBackoffMillis(attempt, this.vaultProperties.getValidationProperties());
+            logError("Could not refresh the vault secret %s, will retry in %s ms".formatted(secret.name(), retryInterval), e);
+            schedule(() -> refresh(secret, previous, listener, attempt + 1), retryInterval);
+        }
+    }
+
+    private void schedule(final Runnable task, final long delayMillis) {
+        try {
+            this.refresher.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Vault secret refresh has been stopped");
+        }
+    }
+
+    private boolean isRefreshEnabled() {
+        return this.vaultProperties.getCacheProperties().isRefreshEnabled();
+    }
+
+    private void updateSnapshot(final String secret, final Map<String, String> data) {
+        if (null != this.snapshot && !data.equals(this.snapshotSecrets.put(secret, data))) {
+            scheduleSnapshot();
+        }
+    }
+
+    private void scheduleSnapshot() {
+        if (null != this.snapshot && this.snapshotPending.compareAndSet(false, true)) {
+            schedule(() -> {
+                this.snapshotPending.set(false);
+                final Map<String, Map<String, String>> secrets = new HashMap<>();
+                this.snapshotSecrets.forEach((secret, data) -> secrets.put(this.snapshotScope + secret, data));
+                this.snapshot.write(secrets);
+            }, 0);
+        }
+    }
+
+    static long getRefreshDelayMillis(final Duration ttl) {
+        final long ttlMillis = ttl.toMillis();
+        return Math.max(MIN_REFRESH_DELAY_MILLIS, ttlMillis - ttlMillis / 3);
+    }
+
+    private Duration getTtl(final LogicalResponse response) {
+        final Long leaseDuration = response.getLeaseDuration();
+        return null != leaseDuration && leaseDuration > 0
+            ? Duration.ofSeconds(leaseDuration)
+            : this.vaultProperties.getCacheProperties().getTtl();
+    }
+
+    private static Configuration getLayerContents(final Map<String, String> data) {
+        return new MapConfiguration(new HashMap<>(data));
+    }
+
+    /**
+     * Waits for the token to be validated.
+     * A failed validation is only rethrown at startup, refreshes validate the token again
+     * so secrets are refreshed once vault has recovered from an outage.
+     *
+     * @param revalidate whether to validate the token again when the last validation failed.
+     */
+    private void awaitValidation(final boolean revalidate) {
+        final Future<Void> current = this.validation.get();
+        try {
+            EnvConfigTasks.await(current);
+        } catch (EnvConfigException e) {
+            if (!revalidate || Thread.currentThread().isInterrupted()) {
+                throw e;
+            }
+            final FutureTask<Void> task = new FutureTask<>(this::validateToken, null);
+            if (this.validation.compareAndSet(current, task)) {
+                LOG.debug("Validating the vault token again");
+                task.run();
+            }
+            EnvConfigTasks.await(this.validation.get());
+        }
+    }
+
+    private LogicalResponse read(final String secret, final boolean required) {
         final LogicalResponse response;
         try {
             LOG.debug("Loading config from secret {}", secret);
@@ -75,11 +323,22 @@ class VaultConfiguration {
         } catch (VaultException e) {
             throw new EnvConfigException("Could not read data from vault.", e);
         }
-        if (null != response && response.getRestResponse().getStatus() != 200
-            && EnvConfigUtils.CONFIG_ENV_DEFAULT.equals(env)) {
+        if (required && (null == response || response.getRestResponse().getStatus() != 200)) {
             throw new EnvConfigException("Could not find the vault secret: %s".formatted(secret));
         }
-        return new MapConfiguration(response.getData());
+        return response;
+    }
+
+    /**
+     * Stops refreshing secrets and any background token validation.
+     */
+    void close() {
+        this.validation.get().cancel(true);
+        this.refresher.shutdownNow();
+    }
+
+    private record VaultSecret(String name, EnvConfigLayer layer, Map<String, String> data, Duration ttl,
+                               boolean fromSnapshot) {
     }
 
 }
@@ -0,0 +1,166 @@
+package com.github.sitture.envconfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An encrypted local copy of the vault secrets last read, so they can be served at startup without waiting on vault.
+ * The snapshot is encrypted with AES-GCM using a base64 encoded 128, 192 or 256 bit key.
+ */
+final class VaultSecretSnapshot {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VaultSecretSnapshot.class);
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final byte VERSION = 1;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH = 128;
+    private static final int HEADER_LENGTH = 1 + IV_LENGTH;
+    private static final Set<Integer> KEY_LENGTHS = Set.of(16, 24, 32);
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private final Path file;
+    private final SecretKey key;
+
+    VaultSecretSnapshot(final Path file, final String key) {
+        this.file = file;
+        this.key = getKey(key);
+    }
+
+    private static SecretKey getKey(final String key) {
+        final String property = EnvConfigKey.CONFIG_VAULT_SNAPSHOT_KEY.getProperty();
+        final byte[] bytes;
+        try {
+            bytes = Base64.getDecoder().decode(key.trim());
+        } catch (IllegalArgumentException e) {
+            throw new EnvConfigException("'%s' must be a base64 encoded AES key".formatted(property), e);
+        }
+        if (!KEY_LENGTHS.contains(bytes.length)) {
+            throw new EnvConfigException("'%s' must be a 128, 192 or 256 bit AES key".formatted(property));
+        }
+        return new SecretKeySpec(bytes, "AES");
+    }
+
+    /**
+     * Reads the secrets from the snapshot file.
+     * A missing, corrupt or undecryptable snapshot is treated as empty, so secrets are read from vault instead.
+     *
+     * @return the secret data by vault address, namespace and secret path.
+     */
+    Map<String, Map<String, String>> read() {
+        Map<String, Map<String, String>> secrets = Map.of();
+        if (Files.isRegularFile(this.file)) {
+            try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(decrypt(Files.readAllBytes(this.file))))) {
+                secrets = readSecrets(input);
+                LOG.debug("Loaded {} vault secrets from snapshot {}", secrets.size(), this.file);
+            } catch (IOException | GeneralSecurityException e) {
+                LOG.warn("Could not read the vault snapshot {}, secrets will be read from vault", this.file, e);
+            }
+        }
+        return secrets;
+    }
+
+    /**
+     * Replaces the snapshot file with the given secrets.
+     * The file is written to a temporary file only readable by the owner and then moved into place.
+     *
+     * @param secrets the secret data by vault address, namespace and secret path.
+     */
+    void write(final Map<String, Map<String, String>> secrets) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(bytes)) {
+                writeSecrets(output, secrets);
+            }
+            final Path directory = this.file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            final Path temp = Files.createTempFile(directory, this.file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, encrypt(bytes.toByteArray()));
+                Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            LOG.debug("Saved {} vault secrets to snapshot {}", secrets.size(), this.file);
+        } catch (IOException | GeneralSecurityException e) {
+            LOG.error("Could not write the vault snapshot {}", this.file, e);
+        }
+    }
+
+    private byte[] encrypt(final byte[] data) throws GeneralSecurityException {
+        final byte[] iv = new byte[IV_LENGTH];
+        RANDOM.nextBytes(iv);
+        final Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.ENCRYPT_MODE, this.key, new GCMParameterSpec(TAG_LENGTH, iv));
+        final byte[] encrypted = new byte[HEADER_LENGTH + cipher.getOutputSize(data.length)];
+        encrypted[0] = VERSION;
+        System.arraycopy(iv, 0, encrypted, 1, IV_LENGTH);
+        cipher.doFinal(data, 0, data.length, encrypted, HEADER_LENGTH);
+        return encrypted;
+    }
+
+    private byte[] decrypt(final byte[] data) throws GeneralSecurityException, IOException {
+        if (data.length <= HEADER_LENGTH || data[0] != VERSION) {
+            throw new IOException("Unsupported vault snapshot format");
+        }
+        final Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.DECRYPT_MODE, this.key, new GCMParameterSpec(TAG_LENGTH, data, 1, IV_LENGTH));
+        return cipher.doFinal(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+    }
+
+    private static Map<String, Map<String, String>> readSecrets(final DataInputStream input) throws IOException {
+        final Map<String, Map<String, String>> secrets = new HashMap<>();
+        final int secretCount = input.readInt();
+        for (int i = 0; i < secretCount; i++) {
+            final String secret = readString(input);
+            final int entryCount = input.readInt();
+            final Map<String, String> data = new HashMap<>();
+            for (int j = 0; j < entryCount; j++) {
+                data.put(readString(input), readString(input));
+            }
+            secrets.put(secret, Map.copyOf(data));
+        }
+        return secrets;
+    }
+
+    private static void writeSecrets(final DataOutputStream output, final Map<String, Map<String, String>> secrets) throws IOException {
+        output.writeInt(secrets.size());
+        for (final Map.Entry<String, Map<String, String>> secret : secrets.entrySet()) {
+            writeString(output, secret.getKey());
+            output.writeInt(secret.getValue().size());
+            for (final Map.Entry<String, String> entry : secret.getValue().entrySet()) {
+                writeString(output, entry.getKey());
+                writeString(output, entry.getValue());
+            }
+        }
+    }
+
+    private static String readString(final DataInputStream input) throws IOException {
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+}
@@ -0,0 +1,95 @@
+package com.github.sitture.envconfig;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EnvConfigAccessorSupportTest {
+
+    private final PoolAccessor accessor = new PoolAccessor();
+
+    @BeforeEach
+    void setUp() {
+        EnvConfig.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        EnvConfig.reset();
+    }
+
+    @Test
+    void testValuesAreConvertedOncePerSnapshot() {
+        EnvConfig.set("db.pool.url", " jdbc:h2:mem ");
+        Assertions.assertEquals(new Values("jdbc:h2:mem", 10, List.of()), accessor.resolved(0));
+        Assertions.assertSame(accessor.resolved(0), accessor.resolved(0));
+        Assertions.assertEquals(1, accessor.created.get());
+        EnvConfig.set("db.pool.max.size", "20");
+        Assertions.assertEquals(20, accessor.resolved(1).maxSize());
+        Assertions.assertEquals(2, accessor.created.get());
+        EnvConfig.reset();
+        EnvConfig.set("db.pool.hosts", "one, two");
+        Assertions.assertEquals(new Values(null, 10, List.of("one", "two")), accessor.resolved(0));
+    }
+
+    @Test
+    void testValuesResolvedOnReadAreConvertedOnEveryCall() {
+        EnvConfig.set("db.pool.url", "${db.url}");
+        EnvConfig.set("db.url", "jdbc:h2:mem");
+        Assertions.assertEquals("jdbc:h2:mem", accessor.resolved(0).url());
+        EnvConfig.set("db.url", "jdbc:h2:file");
+        Assertions.assertEquals("jdbc:h2:file", accessor.resolved(0).url());
+        Assertions.assertEquals(2, accessor.created.get());
+    }
+
+    @Test
+    void testSystemPropertySetAfterFirstCallIsConverted() {
+        EnvConfig.set("db.pool.max.size", "20");
+        Assertions.assertEquals(20, accessor.resolved(1).maxSize());
+        Assertions.assertSame(accessor.resolved(0), accessor.resolved(0));
+        System.setProperty("db.pool.max.size", "30");
+        try {
+            Assertions.assertEquals("30", EnvConfig.get("db.pool.max.size"));
+            Assertions.assertEquals(30, accessor.resolved(1).maxSize());
+        } finally {
+            System.clearProperty("db.pool.max.size");
+        }
+        Assertions.assertEquals(20, accessor.resolved(1).maxSize());
+    }
+
+    @Test
+    void testInvalidValueThrows() {
+        EnvConfig.set("db.pool.max.size", "ten");
+        final EnvConfigException exception = Assertions.assertThrows(EnvConfigException.class, () -> accessor.resolved(1));
+        Assertions.assertEquals("Invalid value for key 'db.pool.max.size'", exception.getMessage());
+    }
+
+    private record Values(String url, int maxSize, List<String> hosts) {
+    }
+
+    /**
+     * Written the way the processor generates accessors.
+     */
+    private static final class PoolAccessor extends EnvConfigAccessorSupport<Values> {
+
+        private static final String[] KEYS = {"db.pool.url", "db.pool.max.size", "db.pool.hosts"};
+        private static final String[] DEFAULT_VALUES = {null, "10", null};
+        private final AtomicInteger created = new AtomicInteger();
+
+        PoolAccessor() {
+            super(KEYS, DEFAULT_VALUES);
+        }
+
+        @Override
+        protected Values create(final String... values) {
+            created.incrementAndGet();
+            return new Values(
+                convert(KEYS[0], values[0], String::trim),
+                require(KEYS[1], convert(KEYS[1], values[1], Integer::valueOf)),
+                toList(values[2]));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.sitture.envconfig;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EnvConfigAllocationTest {
+
+    private static final int WARMUP_ITERATIONS = 200_000;
+    private static final int ITERATIONS = 100_000;
+    private static final int CALLS_PER_ITERATION = 5;
+    private static final String INT_PROPERTY = "allocation.int";
+    private static final String LONG_PROPERTY = "allocation.long";
+    private static final String DOUBLE_PROPERTY = "allocation.double";
+    private static final String BOOL_PROPERTY = "allocation.bool";
+
+    @BeforeEach
+    void setUp() {
+        System.clearProperty(EnvConfigKey.CONFIG_KEEPASS_ENABLED.getProperty());
+        System.setProperty(EnvConfigKey.CONFIG_ENV.getProperty(), EnvConfigUtils.CONFIG_ENV_DEFAULT);
+        EnvConfig.reset();
+        EnvConfig.set(INT_PROPERTY, "42");
+        EnvConfig.set(LONG_PROPERTY, "4200000000");
+        EnvConfig.set(DOUBLE_PROPERTY, "4.2");
+        EnvConfig.set(BOOL_PROPERTY, "true");
+    }
+
+    @Test
+    void testCanGetPrimitiveValues() {
+        Assertions.assertEquals(42, EnvConfig.getInt(INT_PROPERTY, -1));
+        Assertions.assertEquals(4_200_000_000L, EnvConfig.getLong(LONG_PROPERTY, -1L));
+        Assertions.assertEquals(4.2, EnvConfig.getDouble(DOUBLE_PROPERTY, -1.0));
+        Assertions.assertTrue(EnvConfig.getBool(BOOL_PROPERTY, false));
+    }
+
+    @Test
+    void testCanGetDefaultPrimitiveValues() {
+        Assertions.assertEquals(-1, EnvConfig.getInt("non.existing", -1));
+        Assertions.assertEquals(-1L, EnvConfig.getLong("non.existing", -1L));
+        Assertions.assertEquals(-1.0, EnvConfig.getDouble("non.existing", -1.0));
+        Assertions.assertTrue(EnvConfig.getBool("non.existing", true));
+    }
+
+    @Test
+    void testPrimitiveGettersDoNotAllocate() {
+        final ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+        readPrimitives(WARMUP_ITERATIONS);
+        final long allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+        final double checksum = readPrimitives(ITERATIONS);
+        final long allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        Assertions.assertTrue(checksum > 0);
+        Assertions.assertEquals(0, allocated, "bytes allocated by %d calls".formatted(ITERATIONS * CALLS_PER_ITERATION));
+    }
+
+    private double readPrimitives(final int iterations) {
+        double checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            checksum += EnvConfig.getInt(INT_PROPERTY, 0)
+                + EnvConfig.getLong(LONG_PROPERTY, 0L)
+                + EnvConfig.getDouble(DOUBLE_PROPERTY, 0.0)
+                + (EnvConfig.getBool(BOOL_PROPERTY, false) ? 1 : 0)
+                + EnvConfig.getInt("non.existing", 0);
+        }
+        return checksum;
+    }
+
+}
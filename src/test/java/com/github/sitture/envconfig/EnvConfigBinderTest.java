@@ -0,0 +1,112 @@
+package com.github.sitture.envconfig;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class EnvConfigBinderTest {
+
+    private static final String NAMESPACE = "db.pool.";
+
+    @Test
+    void testBindsComponentsToPropertiesUnderNamespace() {
+        final Pool pool = EnvConfigBinder.of(Pool.class).bind(NAMESPACE, Map.of(
+            "db.pool.url", " jdbc:h2:mem ",
+            "db.pool.max.size", "20",
+            "db.pool.idle.timeout", "30000",
+            "db.pool.ratio", "0.75",
+            "db.pool.enabled", "true",
+            "db.pool.hosts", "one, two",
+            "db.pool.mode", "READ_ONLY",
+            "db.pool.timeouts.connect", "5",
+            "db.url", "other")::get);
+        Assertions.assertEquals(new Pool("jdbc:h2:mem", 20, 30_000L, 0.75, true, null, List.of("one", "two"),
+            Mode.READ_ONLY, new Timeouts(5, null)), pool);
+    }
+
+    @Test
+    void testFallsBackToLowerCaseComponentName() {
+        final Timeouts timeouts = EnvConfigBinder.of(Timeouts.class).bind("", Map.of("connect", "1", "readtimeout", "2")::get);
+        Assertions.assertEquals(new Timeouts(1, 2L), timeouts);
+    }
+
+    @Test
+    void testListsKeysOfComponentsAndNestedRecords() {
+        Assertions.assertEquals(List.of("db.pool.timeouts.connect", "db.pool.timeouts.read.timeout", "db.pool.timeouts.readtimeout"),
+            EnvConfigBinder.of(Pool.class).getKeys(NAMESPACE).filter(key -> key.startsWith("db.pool.timeouts.")).toList());
+        Assertions.assertTrue(EnvConfigBinder.of(Pool.class).getKeys(NAMESPACE).anyMatch("db.pool.max.size"::equals));
+    }
+
+    @Test
+    void testMissingValuesBindAsNullOrEmpty() {
+        final Pool pool = EnvConfigBinder.of(Pool.class).bind(NAMESPACE, Map.of(
+            "db.pool.max.size", "1",
+            "db.pool.idle.timeout", "2",
+            "db.pool.ratio", "3",
+            "db.pool.enabled", "false",
+            "db.pool.timeouts.connect", "4")::get);
+        Assertions.assertNull(pool.url());
+        Assertions.assertNull(pool.mode());
+        Assertions.assertEquals(List.of(), pool.hosts());
+    }
+
+    @Test
+    void testMissingPrimitiveValueThrows() {
+        final EnvConfigBinder<Timeouts> binder = EnvConfigBinder.of(Timeouts.class);
+        final EnvConfigException exception = Assertions.assertThrows(EnvConfigException.class,
+            () -> binder.bind("timeouts.", Map.<String, String>of()::get));
+        Assertions.assertEquals("Missing required key 'timeouts.connect'", exception.getMessage());
+    }
+
+    @Test
+    void testInvalidValueThrows() {
+        final EnvConfigBinder<Timeouts> binder = EnvConfigBinder.of(Timeouts.class);
+        final EnvConfigException exception = Assertions.assertThrows(EnvConfigException.class,
+            () -> binder.bind("", Map.of("connect", "five")::get));
+        Assertions.assertEquals("Invalid value for key 'connect' of type int", exception.getMessage());
+    }
+
+    @Test
+    void testUnsupportedComponentTypeThrows() {
+        final EnvConfigException exception = Assertions.assertThrows(EnvConfigException.class,
+            () -> EnvConfigBinder.of(Unsupported.class));
+        Assertions.assertTrue(exception.getMessage().startsWith("Unsupported type java.util.Map<java.lang.String, java.lang.String> of component 'values'"));
+    }
+
+    @Test
+    void testConstructorErrorsAreWrapped() {
+        final EnvConfigBinder<Validated> binder = EnvConfigBinder.of(Validated.class);
+        final EnvConfigException exception = Assertions.assertThrows(EnvConfigException.class,
+            () -> binder.bind("", Map.of("port", "-1")::get));
+        Assertions.assertEquals(IllegalArgumentException.class, exception.getCause().getClass());
+    }
+
+    @Test
+    void testBinderIsBuiltOncePerRecord() {
+        Assertions.assertSame(EnvConfigBinder.of(Pool.class), EnvConfigBinder.of(Pool.class));
+    }
+
+    private enum Mode {
+        READ_ONLY
+    }
+
+    private record Timeouts(int connect, Long readTimeout) {
+    }
+
+    private record Pool(String url, int maxSize, long idleTimeout, double ratio, boolean enabled, Integer minIdle,
+                        List<String> hosts, Mode mode, Timeouts timeouts) {
+    }
+
+    private record Unsupported(Map<String, String> values) {
+    }
+
+    private record Validated(int port) {
+
+        Validated {
+            if (port < 0) {
+                throw new IllegalArgumentException("port must not be negative");
+            }
+        }
+    }
+}
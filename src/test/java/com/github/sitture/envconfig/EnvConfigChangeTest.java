@@ -0,0 +1,36 @@
+package com.github.sitture.envconfig;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class EnvConfigChangeTest {
+
+    @Test
+    void testComputesAddedChangedAndRemovedKeys() {
+        final Map<String, String> before = new HashMap<>();
+        before.put("property.unchanged", "same");
+        before.put("property.changed", "old");
+        before.put("property.removed", "removed");
+        final Map<String, String> after = new HashMap<>();
+        after.put("property.unchanged", "same");
+        after.put("property.changed", "new");
+        after.put("property.added", "added");
+        final EnvConfigChange change = EnvConfigChange.of(List.of("property.unchanged", "property.changed",
+            "property.removed", "property.added", "property.missing"), before::get, after::get);
+        Assertions.assertEquals(Set.of("property.added"), change.getAdded());
+        Assertions.assertEquals(Set.of("property.changed"), change.getChanged());
+        Assertions.assertEquals(Set.of("property.removed"), change.getRemoved());
+        Assertions.assertEquals(Set.of("property.added", "property.changed", "property.removed"), change.getKeys());
+        Assertions.assertFalse(change.isEmpty());
+    }
+
+    @Test
+    void testIsEmptyWhenNothingChanged() {
+        final Map<String, String> values = Map.of("property.one", "one");
+        Assertions.assertTrue(EnvConfigChange.of(List.of("property.one"), values::get, values::get).isEmpty());
+    }
+}
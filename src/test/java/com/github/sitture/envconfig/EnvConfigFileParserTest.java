@@ -0,0 +1,50 @@
+package com.github.sitture.envconfig;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class EnvConfigFileParserTest {
+
+    private static final File FILE_ONE = new File("one.properties");
+    private static final File FILE_TWO = new File("two.properties");
+
+    @Test
+    void testCanParseSequentially() {
+        try (EnvConfigFileParser parser = new EnvConfigFileParser(1, EnvConfigFileParserTest::parse)) {
+            parser.submit(List.of(List.of(FILE_ONE, FILE_TWO)));
+            Assertions.assertEquals(FILE_ONE.getName(), parser.get(FILE_ONE).getString("file"));
+            Assertions.assertEquals(FILE_TWO.getName(), parser.get(FILE_TWO).getString("file"));
+        }
+    }
+
+    @Test
+    void testCanParseInParallel() {
+        try (EnvConfigFileParser parser = new EnvConfigFileParser(2, EnvConfigFileParserTest::parse)) {
+            parser.submit(List.of(List.of(FILE_ONE), List.of(FILE_TWO)));
+            Assertions.assertEquals(FILE_TWO.getName(), parser.get(FILE_TWO).getString("file"));
+            Assertions.assertEquals(FILE_ONE.getName(), parser.get(FILE_ONE).getString("file"));
+        }
+    }
+
+    @Test
+    void testExceptionWhenParsingInParallelFails() {
+        try (EnvConfigFileParser parser = new EnvConfigFileParser(2, file -> {
+            throw new EnvConfigException("Could not parse " + file.getName());
+        })) {
+            parser.submit(List.of(List.of(FILE_ONE)));
+            final EnvConfigException exception = Assertions.assertThrows(EnvConfigException.class,
+                () -> parser.get(FILE_ONE));
+            Assertions.assertEquals("Could not parse one.properties", exception.getMessage());
+        }
+    }
+
+    private static Configuration parse(final File file) {
+        return new MapConfiguration(Map.of("file", file.getName()));
+    }
+
+}
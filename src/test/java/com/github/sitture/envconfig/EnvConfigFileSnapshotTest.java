@@ -0,0 +1,116 @@
+package com.github.sitture.envconfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EnvConfigFileSnapshotTest {
+
+    private static final String CONTENTS = "property.one=one\nproperty.list=first\nproperty.list=second\nproperty.unicode=caf\\u00e9\n";
+
+    @TempDir
+    Path directory;
+
+    private final AtomicInteger parsed = new AtomicInteger();
+
+    @Test
+    void testUnchangedFileIsReadFromSnapshot() throws IOException {
+        final File file = write("default.properties", CONTENTS);
+        final Path snapshotFile = directory.resolve("config.snapshot");
+        final EnvConfigFileSnapshot snapshot = new EnvConfigFileSnapshot(snapshotFile);
+        final Map<String, Object> expected = snapshot.get(file, this::parse);
+        snapshot.write();
+        Assertions.assertEquals(1, parsed.get());
+        final Map<String, Object> actual = new EnvConfigFileSnapshot(snapshotFile).get(file, this::parse);
+        Assertions.assertEquals(1, parsed.get());
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(List.copyOf(expected.keySet()), List.copyOf(actual.keySet()));
+        Assertions.assertEquals(List.of("first", "second"), actual.get("property.list"));
+        Assertions.assertEquals("café", actual.get("property.unicode"));
+    }
+
+    @Test
+    void testChangedFileIsParsed() throws IOException {
+        final File file = write("default.properties", CONTENTS);
+        final Path snapshotFile = directory.resolve("config.snapshot");
+        final EnvConfigFileSnapshot snapshot = new EnvConfigFileSnapshot(snapshotFile);
+        snapshot.get(file, this::parse);
+        snapshot.write();
+        write("default.properties", "property.one=changed\n");
+        final EnvConfigFileSnapshot changed = new EnvConfigFileSnapshot(snapshotFile);
+        Assertions.assertEquals("changed", changed.get(file, this::parse).get("property.one"));
+        Assertions.assertEquals(2, parsed.get());
+        changed.write();
+        Assertions.assertEquals("changed", new EnvConfigFileSnapshot(snapshotFile).get(file, this::parse).get("property.one"));
+        Assertions.assertEquals(2, parsed.get());
+    }
+
+    @Test
+    void testTouchedFileIsComparedByChecksum() throws IOException {
+        final File file = write("default.properties", CONTENTS);
+        final Path snapshotFile = directory.resolve("config.snapshot");
+        final EnvConfigFileSnapshot snapshot = new EnvConfigFileSnapshot(snapshotFile);
+        snapshot.get(file, this::parse);
+        snapshot.write();
+        Files.setLastModifiedTime(file.toPath(), FileTime.fromMillis(file.lastModified() + 60_000));
+        Assertions.assertEquals("one", new EnvConfigFileSnapshot(snapshotFile).get(file, this::parse).get("property.one"));
+        Assertions.assertEquals(1, parsed.get());
+    }
+
+    @Test
+    void testCorruptSnapshotIsIgnored() throws IOException {
+        final File file = write("default.properties", CONTENTS);
+        final Path snapshotFile = directory.resolve("config.snapshot");
+        final EnvConfigFileSnapshot snapshot = new EnvConfigFileSnapshot(snapshotFile);
+        snapshot.get(file, this::parse);
+        snapshot.write();
+        final byte[] bytes = Files.readAllBytes(snapshotFile);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(snapshotFile, bytes);
+        Assertions.assertEquals("one", new EnvConfigFileSnapshot(snapshotFile).get(file, this::parse).get("property.one"));
+        Assertions.assertEquals(2, parsed.get());
+    }
+
+    @Test
+    void testSnapshotIsNotRewrittenWhenUnchanged() throws IOException {
+        final File file = write("default.properties", CONTENTS);
+        final Path snapshotFile = directory.resolve("config.snapshot");
+        final EnvConfigFileSnapshot snapshot = new EnvConfigFileSnapshot(snapshotFile);
+        snapshot.get(file, this::parse);
+        snapshot.write();
+        final FileTime written = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(snapshotFile, written);
+        final EnvConfigFileSnapshot unchanged = new EnvConfigFileSnapshot(snapshotFile);
+        unchanged.get(file, this::parse);
+        unchanged.write();
+        Assertions.assertEquals(written, Files.getLastModifiedTime(snapshotFile));
+    }
+
+    private File write(final String name, final String contents) throws IOException {
+        return Files.writeString(directory.resolve(name), contents).toFile();
+    }
+
+    private Map<String, Object> parse(final File file) {
+        parsed.incrementAndGet();
+        try {
+            final Configuration properties = new Configurations().properties(file);
+            final Map<String, Object> contents = new LinkedHashMap<>();
+            properties.getKeys().forEachRemaining(key -> contents.put(key, properties.getProperty(key)));
+            return contents;
+        } catch (ConfigurationException e) {
+            throw new EnvConfigException(e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.github.sitture.envconfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EnvConfigFileWatcherTest {
+
+    private static final Duration DEBOUNCE = Duration.ofMillis(100);
+
+    @TempDir
+    Path directory;
+
+    private final AtomicInteger reloads = new AtomicInteger();
+
+    @Test
+    void testReloadsEditedFile() throws IOException, InterruptedException {
+        final File file = write("default.properties", "property.one=one\nproperty.two=two\n");
+        final EnvConfigLayer layer = new EnvConfigLayer(parse(file));
+        try (EnvConfigFileWatcher ignored = watch(file, layer)) {
+            write("default.properties", "property.one=edited\n");
+            awaitUntil(() -> "edited".equals(layer.getString("property.one")));
+            Assertions.assertEquals("edited", layer.getString("property.one"));
+            Assertions.assertFalse(layer.containsKey("property.two"));
+        }
+    }
+
+    @Test
+    void testDebouncesBurstOfEdits() throws IOException, InterruptedException {
+        final File file = write("default.properties", "property.one=one\n");
+        final EnvConfigLayer layer = new EnvConfigLayer(parse(file));
+        try (EnvConfigFileWatcher ignored = watch(file, layer)) {
+            for (int i = 0; i < 5; i++) {
+                write("default.properties", "property.one=edit" + i + "\n");
+            }
+            awaitUntil(() -> "edit4".equals(layer.getString("property.one")));
+            Assertions.assertEquals("edit4", layer.getString("property.one"));
+            Assertions.assertEquals(1, reloads.get());
+        }
+    }
+
+    @Test
+    void testIgnoresFilesNotLoaded() throws IOException, InterruptedException {
+        final File file = write("default.properties", "property.one=one\n");
+        final EnvConfigLayer layer = new EnvConfigLayer(parse(file));
+        try (EnvConfigFileWatcher ignored = watch(file, layer)) {
+            write("other.properties", "property.one=other\n");
+            write("default.properties", "property.one=edited\n");
+            awaitUntil(() -> "edited".equals(layer.getString("property.one")));
+            Assertions.assertEquals(1, reloads.get());
+        }
+    }
+
+    @Test
+    void testDeletedFileLeavesEmptyLayer() throws IOException, InterruptedException {
+        final File file = write("default.properties", "property.one=one\n");
+        final EnvConfigLayer layer = new EnvConfigLayer(parse(file));
+        try (EnvConfigFileWatcher ignored = watch(file, layer)) {
+            Files.delete(file.toPath());
+            awaitUntil(layer::isEmpty);
+            Assertions.assertTrue(layer.isEmpty());
+        }
+    }
+
+    @Test
+    void testKeepsClearedKeysTheEditDidNotChange() throws IOException, InterruptedException {
+        final File file = write("default.properties", "property.one=one\nproperty.two=two\n");
+        final EnvConfigLayer layer = new EnvConfigLayer(parse(file));
+        try (EnvConfigFileWatcher ignored = watch(file, layer)) {
+            layer.clearProperty("property.one");
+            write("default.properties", "property.one=one\nproperty.two=edited\n");
+            awaitUntil(() -> "edited".equals(layer.getString("property.two")));
+            Assertions.assertFalse(layer.containsKey("property.one"));
+        }
+    }
+
+    @Test
+    void testReloadsLayerWithParsedContents() throws IOException, InterruptedException {
+        final File file = write("default.properties", "property.one=one\n");
+        final EnvConfigLayer layer = new EnvConfigLayer(parse(file));
+        final AtomicReference<Configuration> parsed = new AtomicReference<>();
+        final AtomicReference<Configuration> swapped = new AtomicReference<>();
+        try (EnvConfigFileWatcher ignored = new EnvConfigFileWatcher(Map.of(file, layer), edited -> {
+            parsed.set(parse(edited));
+            return parsed.get();
+        }, (reloaded, contents) -> {
+            swapped.set(contents);
+            reloaded.swap(contents);
+        }, DEBOUNCE)) {
+            write("default.properties", "property.one=edited\n");
+            awaitUntil(() -> "edited".equals(layer.getString("property.one")));
+            Assertions.assertSame(parsed.get(), swapped.get());
+        }
+    }
+
+    @Test
+    void testKeepsWatchingAfterFailedReload() throws IOException, InterruptedException {
+        final File file = write("default.properties", "property.one=one\n");
+        final EnvConfigLayer layer = new EnvConfigLayer(parse(file));
+        try (EnvConfigFileWatcher ignored = new EnvConfigFileWatcher(Map.of(file, layer), edited -> {
+            if (reloads.getAndIncrement() == 0) {
+                throw new UncheckedIOException(new IOException("unreadable"));
+            }
+            return parse(edited);
+        }, EnvConfigLayer::swap, DEBOUNCE)) {
+            write("default.properties", "property.one=failed\n");
+            awaitUntil(() -> reloads.get() > 0);
+            TimeUnit.MILLISECONDS.sleep(DEBOUNCE.toMillis() * 2);
+            Assertions.assertEquals("one", layer.getString("property.one"));
+            write("default.properties", "property.one=edited\n");
+            awaitUntil(() -> "edited".equals(layer.getString("property.one")));
+            Assertions.assertEquals("edited", layer.getString("property.one"));
+        }
+    }
+
+    private EnvConfigFileWatcher watch(final File file, final EnvConfigLayer layer) {
+        return new EnvConfigFileWatcher(Map.of(file, layer), EnvConfigFileWatcherTest::parse, (swapped, contents) -> {
+            reloads.incrementAndGet();
+            swapped.swap(contents);
+        }, DEBOUNCE);
+    }
+
+    private File write(final String name, final String contents) throws IOException {
+        return Files.writeString(directory.resolve(name), contents).toFile();
+    }
+
+    private static Configuration parse(final File file) {
+        try {
+            final Configuration properties = new Configurations().properties(file);
+            final Map<String, Object> contents = new HashMap<>();
+            properties.getKeys().forEachRemaining(key -> contents.put(key, properties.getProperty(key)));
+            return new MapConfiguration(contents);
+        } catch (ConfigurationException e) {
+            throw new EnvConfigException(e);
+        }
+    }
+
+    private static void awaitUntil(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+}
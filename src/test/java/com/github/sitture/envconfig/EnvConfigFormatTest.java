@@ -0,0 +1,63 @@
+package com.github.sitture.envconfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EnvConfigFormatTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testCanWriteProperties() throws IOException {
+        final Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("property.one", "one");
+        properties.put("PROPERTY_TWO", "a=b:c");
+        Assertions.assertEquals("property.one=one\nPROPERTY_TWO=a=b:c\n", write(EnvConfigFormat.PROPERTIES, properties));
+    }
+
+    @Test
+    void testWrittenPropertiesReadBackTheSame() throws IOException, ConfigurationException {
+        final Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("property.plain", "plain value");
+        properties.put("property.escapes", "tab\tnew\nline\rfeed\fback\\slash #!\"'");
+        properties.put("property.spaces", "  padded  ");
+        properties.put("property.unicode", "café € \u0001");
+        properties.put("property.empty", "");
+        properties.put("#key with = and :", "value");
+        properties.put("!key", "=starts with separator");
+        final String written = write(EnvConfigFormat.PROPERTIES, properties);
+        Assertions.assertTrue(written.chars().allMatch(c -> c < 0x7F), written);
+        final Path file = Files.writeString(directory.resolve("export.properties"), written, StandardCharsets.ISO_8859_1);
+        final Configuration configuration = new Configurations().properties(file.toFile());
+        final Map<String, Object> read = new LinkedHashMap<>();
+        configuration.getKeys().forEachRemaining(key -> read.put(key, configuration.getProperty(key)));
+        Assertions.assertEquals(properties, read);
+    }
+
+    @Test
+    void testCanWriteJson() throws IOException {
+        final Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("property.one", "one");
+        properties.put("property.escapes", "quote\" back\\slash\ttab\nline\u0001");
+        Assertions.assertEquals("{\"property.one\":\"one\",\"property.escapes\":\"quote\\\" back\\\\slash\\ttab\\nline\\u0001\"}\n",
+            write(EnvConfigFormat.JSON, properties));
+        Assertions.assertEquals("{}\n", write(EnvConfigFormat.JSON, Map.of()));
+    }
+
+    private static String write(final EnvConfigFormat format, final Map<String, String> properties) throws IOException {
+        final StringBuilder output = new StringBuilder();
+        format.write(properties.entrySet().iterator(), output);
+        return output.toString();
+    }
+}
@@ -0,0 +1,24 @@
+package com.github.sitture.envconfig;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class EnvConfigKeyAliasesTest {
+
+    private final EnvConfigKeyAliases keyAliases = new EnvConfigKeyAliases();
+
+    @Test
+    void testCanGetPropertyKey() {
+        Assertions.assertEquals("foo.key", keyAliases.getPropertyKey("FOO_KEY"));
+        Assertions.assertSame(keyAliases.getPropertyKey("FOO_KEY"), keyAliases.getPropertyKey("FOO_KEY"));
+    }
+
+    @Test
+    void testClearForgetsNormalisedKeys() {
+        final String propertyKey = keyAliases.getPropertyKey("FOO_KEY");
+        keyAliases.clear();
+        Assertions.assertEquals(propertyKey, keyAliases.getPropertyKey("FOO_KEY"));
+        Assertions.assertNotSame(propertyKey, keyAliases.getPropertyKey("FOO_KEY"));
+    }
+
+}
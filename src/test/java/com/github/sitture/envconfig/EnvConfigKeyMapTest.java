@@ -0,0 +1,164 @@
+package com.github.sitture.envconfig;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+class EnvConfigKeyMapTest {
+
+    private static final String ALPHABET = "aB._zÉéßı";
+    private static final int LARGE_TREE_SIZE = 100_000;
+    private static final int LOOKUP_ITERATIONS = 100_000;
+
+    private final EnvConfigKeyMap<String> keyMap = new EnvConfigKeyMap<>(0, EnvConfigUtils::getProcessedPropertyKey);
+
+    @Test
+    void testPropertyIsFoundByPropertyAndEnvKey() {
+        keyMap.putProperty("My.Key", "value");
+        Assertions.assertEquals("value", keyMap.get("my.key"));
+        Assertions.assertEquals("value", keyMap.get("MY_KEY"));
+        Assertions.assertNull(keyMap.get("My.Key"));
+        Assertions.assertNull(keyMap.get("my_key"));
+        Assertions.assertEquals(Set.of("my.key", "MY_KEY"), keyMap.keySet());
+    }
+
+    @Test
+    void testVariableIsFoundByKeyAndPropertyKey() {
+        keyMap.putVariable("MY_VARIABLE", "upper");
+        keyMap.putVariable("http_proxy", "lower");
+        keyMap.putVariable("dotted.variable", "dotted");
+        Assertions.assertEquals(Map.of(
+            "MY_VARIABLE", "upper",
+            "my.variable", "upper",
+            "http_proxy", "lower",
+            "http.proxy", "lower",
+            "dotted.variable", "dotted"), keyMap);
+        Assertions.assertFalse(keyMap.containsKey("HTTP_PROXY"));
+        Assertions.assertFalse(keyMap.containsKey("DOTTED_VARIABLE"));
+    }
+
+    @Test
+    void testFormsArePutAndRemovedIndividually() {
+        keyMap.putProperty("my.key", "value");
+        Assertions.assertEquals("value", keyMap.remove("my.key"));
+        Assertions.assertEquals(Map.of("MY_KEY", "value"), keyMap);
+        Assertions.assertNull(keyMap.put("my.key", "changed"));
+        Assertions.assertEquals(Map.of("my.key", "changed", "MY_KEY", "value"), keyMap);
+        keyMap.putProperty("MY_KEY", "reloaded");
+        Assertions.assertEquals(Map.of("my.key", "reloaded", "MY_KEY", "reloaded"), keyMap);
+    }
+
+    @Test
+    void testPropertyIsDroppedOnceAllFormsAreRemoved() {
+        keyMap.putProperty("my.key", "value");
+        keyMap.putVariable("http_proxy", "proxy");
+        keyMap.remove("MY_KEY");
+        keyMap.remove("my.key");
+        keyMap.remove("http.proxy");
+        keyMap.remove("http_proxy");
+        Assertions.assertTrue(keyMap.isEmpty());
+        keyMap.putProperty("MY_KEY", "reloaded");
+        Assertions.assertEquals(Map.of("my.key", "reloaded", "MY_KEY", "reloaded"), keyMap);
+    }
+
+    @Test
+    void testBehavesLikeMapOfBothForms() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            final EnvConfigKeyMap<String> actual = new EnvConfigKeyMap<>(0, EnvConfigUtils::getProcessedPropertyKey);
+            final Map<String, String> expected = new HashMap<>();
+            for (int j = 0; j < 20; j++) {
+                final String key = randomKey(random);
+                final String value = String.valueOf(j);
+                switch (random.nextInt(4)) {
+                    case 0 -> {
+                        actual.putProperty(key, value);
+                        expected.put(EnvConfigUtils.getProcessedPropertyKey(key), value);
+                        expected.put(EnvConfigUtils.getProcessedEnvKey(key), value);
+                    }
+                    case 1 -> {
+                        actual.putVariable(key, value);
+                        expected.put(key, value);
+                        expected.put(EnvConfigUtils.getProcessedPropertyKey(key), value);
+                    }
+                    case 2 -> Assertions.assertEquals(expected.put(key, value), actual.put(key, value));
+                    default -> Assertions.assertEquals(expected.remove(key), actual.remove(key));
+                }
+                Assertions.assertEquals(expected, actual);
+                Assertions.assertEquals(expected.size(), actual.size());
+                final String lookup = randomKey(random);
+                Assertions.assertEquals(expected.get(lookup), actual.get(lookup), lookup);
+            }
+        }
+    }
+
+    @Test
+    void testRetainsLessMemoryThanStoringBothForms() {
+        final List<String> keys = IntStream.range(0, LARGE_TREE_SIZE)
+            .mapToObj(i -> "service%d.feature%d.setting%d".formatted(i / 1000, i / 10 % 100, i % 10))
+            .toList();
+        final long beforeBothForms = getRetainedHeap();
+        final Map<String, Object> bothForms = new HashMap<>(keys.size() * 8 / 3 + 1);
+        keys.forEach(key -> {
+            bothForms.put(EnvConfigUtils.getProcessedPropertyKey(key), key);
+            bothForms.put(EnvConfigUtils.getProcessedEnvKey(key), key);
+        });
+        final long bothFormsBytes = getRetainedHeap() - beforeBothForms;
+        final long beforeKeyMap = getRetainedHeap();
+        final EnvConfigKeyMap<Object> compact = new EnvConfigKeyMap<>(keys.size(), EnvConfigUtils::getProcessedPropertyKey);
+        keys.forEach(key -> compact.putProperty(key, key));
+        final long keyMapBytes = getRetainedHeap() - beforeKeyMap;
+        Assertions.assertEquals(bothForms, compact);
+        Assertions.assertTrue(keyMapBytes * 2 < bothFormsBytes,
+            "key map retained %d bytes, both forms %d bytes".formatted(keyMapBytes, bothFormsBytes));
+    }
+
+    @Test
+    void testLookupsDoNotAllocate() {
+        final ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+        final EnvConfigKeyMap<String> aliased = new EnvConfigKeyMap<>(0, new EnvConfigKeyAliases()::getPropertyKey);
+        aliased.putProperty("my.key", "value");
+        lookUp(aliased, LOOKUP_ITERATIONS);
+        final long allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+        final int found = lookUp(aliased, LOOKUP_ITERATIONS);
+        final long allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        Assertions.assertEquals(LOOKUP_ITERATIONS * 2, found);
+        Assertions.assertEquals(0, allocated, "bytes allocated by lookups");
+    }
+
+    private static int lookUp(final Map<String, String> map, final int iterations) {
+        int found = 0;
+        for (int i = 0; i < iterations; i++) {
+            found += (null == map.get("my.key") ? 0 : 1)
+                + (null == map.get("MY_KEY") ? 0 : 1)
+                + (null == map.get("other.key") ? 0 : 1)
+                + (null == map.get("OTHER_KEY") ? 0 : 1);
+        }
+        return found;
+    }
+
+    private static long getRetainedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static String randomKey(final Random random) {
+        final StringBuilder key = new StringBuilder();
+        final int length = 1 + random.nextInt(3);
+        for (int i = 0; i < length; i++) {
+            key.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,43 @@
+package com.github.sitture.envconfig;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class EnvConfigLayerTest {
+
+    @Test
+    void testReadsFromCurrentContents() {
+        final EnvConfigLayer layer = new EnvConfigLayer(new MapConfiguration(Map.of("property.one", "one")));
+        Assertions.assertEquals("one", layer.getString("property.one"));
+        layer.swap(new MapConfiguration(Map.of("property.two", "two")));
+        Assertions.assertFalse(layer.containsKey("property.one"));
+        Assertions.assertEquals("two", layer.getString("property.two"));
+    }
+
+    @Test
+    void testSwapReturnsOnlyChangedKeys() {
+        final EnvConfigLayer layer = new EnvConfigLayer(new MapConfiguration(Map.of(
+            "property.unchanged", "same",
+            "property.changed", "old",
+            "property.removed", "removed")));
+        final Set<String> changedKeys = layer.swap(new MapConfiguration(Map.of(
+            "property.unchanged", "same",
+            "property.changed", "new",
+            "property.added", "added")));
+        Assertions.assertEquals(Set.of("property.changed", "property.removed", "property.added"), changedKeys);
+    }
+
+    @Test
+    void testRemembersClearedValues() {
+        final EnvConfigLayer layer = new EnvConfigLayer(new MapConfiguration(new HashMap<>(Map.of("property.one", "one"))));
+        layer.clearProperty("property.one");
+        Assertions.assertEquals("one", layer.getClearedProperty("property.one"));
+        layer.retainCleared(Set.of());
+        Assertions.assertNull(layer.getClearedProperty("property.one"));
+    }
+
+}
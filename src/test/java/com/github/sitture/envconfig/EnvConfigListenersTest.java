@@ -0,0 +1,47 @@
+package com.github.sitture.envconfig;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class EnvConfigListenersTest {
+
+    private final EnvConfigListeners listeners = new EnvConfigListeners();
+
+    @Test
+    void testNotifiesListenersInOrderOffTheCallingThread() throws InterruptedException {
+        final BlockingQueue<String> notified = new LinkedBlockingQueue<>();
+        listeners.add(change -> notified.add(Thread.currentThread().getName() + ":" + change.getAdded()));
+        listeners.publish(new EnvConfigChange(Set.of("property.one"), Set.of(), Set.of()));
+        listeners.publish(new EnvConfigChange(Set.of("property.two"), Set.of(), Set.of()));
+        Assertions.assertEquals("env-config-listener-1:[property.one]", notified.poll(5, TimeUnit.SECONDS));
+        Assertions.assertEquals("env-config-listener-1:[property.two]", notified.poll(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFailingListenerDoesNotStopOthers() throws InterruptedException {
+        final BlockingQueue<EnvConfigChange> notified = new LinkedBlockingQueue<>();
+        listeners.add(change -> {
+            throw new IllegalStateException("failed");
+        });
+        listeners.add(notified::add);
+        listeners.publish(new EnvConfigChange(Set.of(), Set.of("property.one"), Set.of()));
+        Assertions.assertEquals(Set.of("property.one"), notified.poll(5, TimeUnit.SECONDS).getChanged());
+    }
+
+    @Test
+    void testDoesNotPublishEmptyChanges() throws InterruptedException {
+        final BlockingQueue<EnvConfigChange> notified = new LinkedBlockingQueue<>();
+        final EnvConfigListener listener = notified::add;
+        listeners.add(listener);
+        Assertions.assertFalse(listeners.isEmpty());
+        listeners.publish(EnvConfigChange.of(List.of("property.one"), key -> "one", key -> "one"));
+        Assertions.assertNull(notified.poll(200, TimeUnit.MILLISECONDS));
+        listeners.remove(listener);
+        Assertions.assertTrue(listeners.isEmpty());
+    }
+}
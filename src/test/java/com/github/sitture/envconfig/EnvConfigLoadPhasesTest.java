@@ -0,0 +1,71 @@
+package com.github.sitture.envconfig;
+
+import com.github.sitture.envconfig.EnvConfigLoadPhases.Phase;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class EnvConfigLoadPhasesTest {
+
+    private final EnvConfigLoadPhases phases = new EnvConfigLoadPhases();
+
+    @AfterEach
+    void tearDown() {
+        EnvConfig.reset();
+    }
+
+    @Test
+    void testTimesAddUpPerPhase() {
+        Assertions.assertEquals("value", phases.time(Phase.FILES, () -> sleep("value")));
+        phases.run(Phase.FILES, () -> sleep(null));
+        phases.finish();
+        Assertions.assertTrue(phases.getNanos(Phase.FILES) >= TimeUnit.MILLISECONDS.toNanos(2));
+        Assertions.assertEquals(0, phases.getNanos(Phase.KEEPASS));
+        Assertions.assertTrue(phases.getTotalNanos() >= phases.getNanos(Phase.FILES));
+        Assertions.assertTrue(phases.toString().contains(", vault.connect 0.0 ms, vault.read 0.0 ms, keepass 0.0 ms"),
+            phases.toString());
+    }
+
+    @Test
+    void testFailedTaskIsStillTimed() {
+        Assertions.assertThrows(EnvConfigException.class, () -> phases.run(Phase.VAULT_READ, () -> {
+            sleep(null);
+            throw new EnvConfigException("Could not read");
+        }));
+        Assertions.assertTrue(phases.getNanos(Phase.VAULT_READ) > 0);
+    }
+
+    @Test
+    void testMovesTimeBetweenPhases() {
+        phases.run(Phase.VAULT_READ, () -> sleep(null));
+        final long read = phases.getNanos(Phase.VAULT_READ);
+        phases.move(Phase.VAULT_READ, Phase.VAULT_CONNECT, 1000);
+        Assertions.assertEquals(read - 1000, phases.getNanos(Phase.VAULT_READ));
+        Assertions.assertEquals(1000, phases.getNanos(Phase.VAULT_CONNECT));
+        // no more than the time of the phase is moved
+        phases.move(Phase.VAULT_READ, Phase.VAULT_CONNECT, Long.MAX_VALUE);
+        Assertions.assertEquals(0, phases.getNanos(Phase.VAULT_READ));
+        Assertions.assertEquals(read, phases.getNanos(Phase.VAULT_CONNECT));
+    }
+
+    @Test
+    void testLoaderRecordsPhases() {
+        EnvConfig.reset();
+        final EnvConfigLoadPhases loaded = EnvConfig.getConfig().getLoadPhases();
+        Assertions.assertTrue(loaded.getNanos(Phase.FILES) > 0);
+        Assertions.assertTrue(loaded.getNanos(Phase.SNAPSHOT) > 0);
+        Assertions.assertEquals(0, loaded.getNanos(Phase.VAULT_CONNECT));
+        Assertions.assertEquals(0, loaded.getNanos(Phase.VAULT_READ));
+        Assertions.assertTrue(loaded.getTotalNanos() >= loaded.getNanos(Phase.FILES) + loaded.getNanos(Phase.SNAPSHOT));
+    }
+
+    private static String sleep(final String value) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -24,6 +24,7 @@ class EnvConfigProfileTest {
     void tearDown() {
         System.clearProperty(EnvConfigKey.CONFIG_PROFILE.getProperty());
         System.clearProperty(EnvConfigKey.CONFIG_PROFILES_PATH.getProperty());
+        System.clearProperty(EnvConfigKey.CONFIG_LOAD_PARALLELISM.getProperty());
     }
 
     @Test
@@ -140,6 +141,21 @@ class EnvConfigProfileTest {
         Assertions.assertEquals("prof1.value", EnvConfig.get("prof1.one"));
     }
 
+    @Test
+    void testCanGetFromProfileWhenLoadedInParallel() {
+        // given env is test-env with test as base
+        setEnvironment("test,test-env");
+        // and prof2 profile is set
+        setProfile("prof2");
+        // when files are parsed in parallel
+        System.setProperty(EnvConfigKey.CONFIG_LOAD_PARALLELISM.getProperty(), "4");
+        // then precedence is the same as when parsed sequentially
+        Assertions.assertEquals("test.prof2.value", EnvConfig.get("prof2.one"));
+        Assertions.assertEquals("test-env", EnvConfig.get("property.one"));
+        Assertions.assertEquals("test", EnvConfig.get("property.three"));
+        Assertions.assertEquals(EnvConfigUtils.CONFIG_ENV_DEFAULT, EnvConfig.get("property.four"));
+    }
+
     @Test
     void testThrowsExceptionWhenNoPropertiesInProfile() {
         // given env is default and empty-profile exists in env properties
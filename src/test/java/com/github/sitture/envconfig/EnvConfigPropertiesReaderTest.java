@@ -0,0 +1,132 @@
+package com.github.sitture.envconfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.builder.fluent.Configurations;
+import org.apache.commons.configuration2.ex.ConfigurationException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EnvConfigPropertiesReaderTest {
+
+    private static final String ALPHABET = "ab.=: \t\f\\#!unrtbf0A\"'\u00e9\u00a0\u0001\n\r";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testReadsLikePropertiesConfiguration() throws IOException {
+        assertCompatible(String.join("\n",
+            "# comment",
+            "! comment",
+            "",
+            "   ",
+            "property.one=one",
+            "property.two = two  ",
+            "property.three:three",
+            "property.four four",
+            "property.five  =  = five",
+            "property.six\t:\tsix",
+            "property.empty=",
+            "property.key.only",
+            "=no key",
+            "property.list=first",
+            "property.list=second",
+            "property.list=third",
+            "property.continued=first \\",
+            "    second \\",
+            "# a comment within a continuation",
+            "",
+            "    third",
+            "property.backslashes=ends with two \\\\",
+            "property.escapes=tab\\tnew\\nline\\rfeed\\fback\\bslash\\\\quote\\\"apos\\'colon\\:equals\\=hash\\#bang\\!",
+            "property.unknown.escapes=C:\\Program Files\\x \\ space",
+            "property.unicode=caf\\u00e9 \\u20AC",
+            "property.unicode.short=short\\u00e",
+            "property.latin1=caf\u00e9",
+            "property.trailing.escape=value\\ ",
+            "PROPERTY_SEVEN=env style",
+            "property.crlf=crlf\r\nproperty.cr=cr\rproperty.last=no newline"));
+    }
+
+    @Test
+    void testDropsUnfinishedContinuationAtEndOfFile() throws IOException {
+        assertCompatible("property.one=one\nproperty.two=two \\");
+    }
+
+    @Test
+    void testReadsConfigDirectoryFilesLikePropertiesConfiguration() throws IOException {
+        try (Stream<Path> files = Files.walk(Path.of("config"))) {
+            for (final Path file : files.filter(path -> path.toString().endsWith(".properties")).toList()) {
+                Assertions.assertEquals(getExpected(file.toFile()), EnvConfigPropertiesReader.read(file.toFile()).orElseThrow(), file.toString());
+            }
+        }
+    }
+
+    @Test
+    void testUnsupportedSyntaxIsLeftToPropertiesConfiguration() throws IOException {
+        Assertions.assertTrue(read("include=other.properties\n").isEmpty());
+        Assertions.assertTrue(read("IncludeOptional=other.properties\n").isEmpty());
+        Assertions.assertTrue(read("escaped\\ key=value\n").isEmpty());
+        Assertions.assertTrue(read("property.unicode=\\uZZZZ\n").isEmpty());
+        Assertions.assertTrue(read("property.next.line=a\u0085b\n").isEmpty());
+    }
+
+    @Test
+    void testRandomFilesAreReadLikePropertiesConfiguration() throws IOException {
+        final Random random = new Random(42);
+        int supported = 0;
+        for (int i = 0; i < 2000; i++) {
+            final StringBuilder contents = new StringBuilder();
+            final int length = random.nextInt(120);
+            for (int j = 0; j < length; j++) {
+                contents.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            final File file = write(contents.toString());
+            final Optional<Map<String, Object>> actual = EnvConfigPropertiesReader.read(file);
+            if (actual.isPresent()) {
+                supported++;
+                Assertions.assertEquals(getExpected(file), actual.get(), contents.toString());
+            }
+        }
+        Assertions.assertTrue(supported > 1000, "only %s files were supported".formatted(supported));
+    }
+
+    private void assertCompatible(final String contents) throws IOException {
+        final File file = write(contents);
+        final Map<String, Object> actual = EnvConfigPropertiesReader.read(file).orElseThrow();
+        final Map<String, Object> expected = getExpected(file);
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(List.copyOf(expected.keySet()), List.copyOf(actual.keySet()));
+    }
+
+    private Optional<Map<String, Object>> read(final String contents) throws IOException {
+        return EnvConfigPropertiesReader.read(write(contents));
+    }
+
+    private File write(final String contents) throws IOException {
+        return Files.write(directory.resolve("test.properties"), contents.getBytes(StandardCharsets.ISO_8859_1)).toFile();
+    }
+
+    private static Map<String, Object> getExpected(final File file) {
+        try {
+            final Configuration configuration = new Configurations().properties(file);
+            final Map<String, Object> properties = new LinkedHashMap<>();
+            configuration.getKeys().forEachRemaining(key -> properties.put(key, configuration.getProperty(key)));
+            return properties;
+        } catch (ConfigurationException e) {
+            throw new EnvConfigException(e);
+        }
+    }
+}
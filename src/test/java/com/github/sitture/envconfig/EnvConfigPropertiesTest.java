@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -19,6 +20,10 @@ class EnvConfigPropertiesTest {
         System.clearProperty(EnvConfigKey.CONFIG_PROFILE.getProperty());
         System.clearProperty(EnvConfigKey.CONFIG_PROFILES_PATH.getProperty());
         System.clearProperty(EnvConfigKey.CONFIG_KEEPASS_MASTERKEY.getProperty());
+        System.clearProperty(EnvConfigKey.CONFIG_SNAPSHOT_FILE.getProperty());
+        System.clearProperty(EnvConfigKey.CONFIG_RELOAD_ENABLED.getProperty());
+        System.clearProperty(EnvConfigKey.CONFIG_RELOAD_DEBOUNCE.getProperty());
+        System.clearProperty(EnvConfigKey.CONFIG_DELTA_ENABLED.getProperty());
     }
 
     @Test
@@ -167,4 +172,31 @@ class EnvConfigPropertiesTest {
             exception.getMessage());
     }
 
+    @Test
+    void testCanGetConfigReloadProperties() {
+        final EnvConfigProperties configProperties = new EnvConfigProperties();
+        Assertions.assertFalse(configProperties.isReloadEnabled());
+        Assertions.assertEquals(Duration.ofMillis(500), configProperties.getReloadDebounce());
+        System.setProperty(EnvConfigKey.CONFIG_RELOAD_ENABLED.getProperty(), "true");
+        System.setProperty(EnvConfigKey.CONFIG_RELOAD_DEBOUNCE.getProperty(), "50");
+        Assertions.assertTrue(configProperties.isReloadEnabled());
+        Assertions.assertEquals(Duration.ofMillis(50), configProperties.getReloadDebounce());
+    }
+
+    @Test
+    void testCanGetConfigSnapshotFile() {
+        final EnvConfigProperties configProperties = new EnvConfigProperties();
+        Assertions.assertTrue(configProperties.getSnapshotFile().isEmpty());
+        System.setProperty(EnvConfigKey.CONFIG_SNAPSHOT_FILE.getProperty(), "target/config.snapshot");
+        Assertions.assertEquals(Path.of("target/config.snapshot"), configProperties.getSnapshotFile().orElseThrow());
+    }
+
+    @Test
+    void testCanGetConfigDeltaEnabled() {
+        final EnvConfigProperties configProperties = new EnvConfigProperties();
+        Assertions.assertFalse(configProperties.isDeltaEnabled());
+        System.setProperty(EnvConfigKey.CONFIG_DELTA_ENABLED.getProperty(), "true");
+        Assertions.assertTrue(configProperties.isDeltaEnabled());
+    }
+
 }
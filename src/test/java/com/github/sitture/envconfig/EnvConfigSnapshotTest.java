@@ -0,0 +1,101 @@
+package com.github.sitture.envconfig;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import org.apache.commons.configuration2.Configuration;
+import org.apache.commons.configuration2.MapConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class EnvConfigSnapshotTest {
+
+    private static final String KEY = "property.one";
+
+    @Test
+    void testFirstLayerTakesPriority() {
+        final EnvConfigSnapshot snapshot = EnvConfigSnapshot.of(List.of(
+            new MapConfiguration(Map.of(KEY, "first")),
+            new MapConfiguration(Map.of(KEY, "second", "property.two", "second"))));
+        Assertions.assertEquals("first", snapshot.get(KEY));
+        Assertions.assertEquals("second", snapshot.get("property.two"));
+        Assertions.assertNull(snapshot.get("non.existing"));
+    }
+
+    @Test
+    void testInterpolatedValuesAreNotResolved() {
+        final EnvConfigSnapshot snapshot = EnvConfigSnapshot.of(List.of(
+            new MapConfiguration(Map.of(KEY, "${property.two}", "property.two", "two"))));
+        Assertions.assertTrue(snapshot.isLive(KEY));
+        Assertions.assertNull(snapshot.get(KEY));
+        Assertions.assertFalse(snapshot.isLive("property.two"));
+    }
+
+    @Test
+    void testCanResolveUpdatedKey() {
+        final Map<String, Object> values = new HashMap<>(Map.of(KEY, "one", "property.two", "two"));
+        final List<Configuration> layers = List.of(new MapConfiguration(values));
+        final EnvConfigSnapshot snapshot = EnvConfigSnapshot.of(layers);
+        values.put(KEY, "updated");
+        values.remove("property.two");
+        final EnvConfigSnapshot updated = snapshot.with(layers, KEY);
+        Assertions.assertEquals("updated", updated.get(KEY));
+        Assertions.assertEquals("two", updated.get("property.two"));
+        Assertions.assertEquals("one", snapshot.get(KEY));
+        Assertions.assertNull(snapshot.with(layers, "property.two").get("property.two"));
+    }
+
+    @Test
+    void testUpdatedSnapshotCannotBeModified() {
+        final List<Configuration> layers = List.of(new MapConfiguration(new HashMap<>(Map.of(KEY, "one"))));
+        final EnvConfigSnapshot updated = EnvConfigSnapshot.of(layers).with(layers, KEY);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> updated.getValues().put(KEY, "changed"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> updated.getLiveKeys().add(KEY));
+        Assertions.assertEquals("one", updated.get(KEY));
+    }
+
+    @Test
+    void testCanFindKeysByPrefix() {
+        final Map<String, Object> values = new HashMap<>(Map.of(
+            "db.pool.size", "10",
+            "db.pool.timeout", "${db.timeout}",
+            "db.poolname", "pool",
+            "db.url", "url",
+            "kafka.consumer.group", "group"));
+        final List<Configuration> layers = List.of(new MapConfiguration(values));
+        final EnvConfigSnapshot snapshot = EnvConfigSnapshot.of(layers);
+        Assertions.assertEquals(List.of("db.pool.size", "db.pool.timeout"), snapshot.getKeys("db.pool."));
+        Assertions.assertEquals(List.of("db.pool.size", "db.pool.timeout", "db.poolname", "db.url"), snapshot.getKeys("db."));
+        Assertions.assertEquals(values.size(), snapshot.getKeys("").size());
+        Assertions.assertTrue(snapshot.getKeys("db.pool.size.").isEmpty());
+        Assertions.assertTrue(snapshot.getKeys("zookeeper.").isEmpty());
+        values.put("db.pool.max", "20");
+        values.remove("db.pool.size");
+        final EnvConfigSnapshot updated = snapshot.with(layers, List.of("db.pool.max", "db.pool.size"));
+        Assertions.assertEquals(List.of("db.pool.max", "db.pool.timeout"), updated.getKeys("db.pool."));
+        Assertions.assertEquals(List.of("db.pool.size", "db.pool.timeout"), snapshot.getKeys("db.pool."));
+    }
+
+    @Test
+    void testKeyIndexStaysSortedAfterUpdates() {
+        final Random random = new Random(42);
+        final Map<String, Object> values = new HashMap<>();
+        final List<Configuration> layers = List.of(new MapConfiguration(values));
+        EnvConfigSnapshot snapshot = EnvConfigSnapshot.of(layers);
+        for (int i = 0; i < 200; i++) {
+            final List<String> keys = random.ints(1 + random.nextInt(5), 0, 50).mapToObj(key -> "key." + key).toList();
+            keys.forEach(key -> {
+                if (random.nextBoolean()) {
+                    values.put(key, key);
+                } else {
+                    values.remove(key);
+                }
+            });
+            snapshot = snapshot.with(layers, keys);
+            Assertions.assertEquals(List.copyOf(new TreeMap<>(values).keySet()), snapshot.getKeys(""));
+        }
+    }
+
+}
@@ -1,11 +1,30 @@
 package com.github.sitture.envconfig;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.IntStream;
+import org.apache.commons.configuration2.CompositeConfiguration;
+import org.apache.commons.configuration2.MapConfiguration;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import uk.org.webcompere.systemstubs.environment.EnvironmentVariables;
 import uk.org.webcompere.systemstubs.jupiter.SystemStub;
 import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
@@ -37,6 +56,30 @@ class EnvConfigTest {
         Assertions.assertEquals(EnvConfig.getConfig().hashCode(), EnvConfig.getConfig().hashCode());
     }
 
+    @Test
+    @SuppressWarnings("PMD.DoNotUseThreads")
+    void testSingletonWhenAccessedConcurrently() throws InterruptedException {
+        final int threads = 16;
+        final Set<EnvConfig> instances = ConcurrentHashMap.newKeySet();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    instances.add(EnvConfig.getConfig());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, instances.size());
+        Assertions.assertEquals(EnvConfig.getConfig(), instances.iterator().next());
+    }
+
     @Test
     void testCanGetDefaultEnvironment() {
         System.setProperty(EnvConfigKey.CONFIG_ENV.getProperty(), EnvConfigUtils.CONFIG_ENV_DEFAULT);
@@ -278,6 +321,21 @@ class EnvConfigTest {
         Assertions.assertEquals(TEST_VALUE, EnvConfig.get("property2"));
     }
 
+    @Test
+    void testCanGetConvertedValuesAfterUpdate() {
+        EnvConfig.set(TEST_PROPERTY, "1");
+        Assertions.assertEquals(1, EnvConfig.getInt(TEST_PROPERTY));
+        EnvConfig.set(TEST_PROPERTY, "2");
+        Assertions.assertEquals(2, EnvConfig.getInt(TEST_PROPERTY));
+        EnvConfig.add(TEST_PROPERTY, "3");
+        Assertions.assertEquals(2, EnvConfig.getInt(TEST_PROPERTY));
+        EnvConfig.set(TEST_PROPERTY, "a, b");
+        Assertions.assertEquals(List.of("a", "b"), EnvConfig.getList(TEST_PROPERTY));
+        EnvConfig.clear(TEST_PROPERTY);
+        Assertions.assertEquals(-1, EnvConfig.getInt(TEST_PROPERTY));
+        Assertions.assertTrue(EnvConfig.getList(TEST_PROPERTY).isEmpty());
+    }
+
     @Test
     void testCanClearProperty() {
         System.setProperty(TEST_PROPERTY, TEST_VALUE);
@@ -306,6 +364,77 @@ class EnvConfigTest {
         Assertions.assertEquals("KDBX4_VALUE", EnvConfig.get(PROPERTY_KEEPASS));
     }
 
+    @Test
+    void testKeepassDatabaseIsDecodedOnceAcrossResets() {
+        System.setProperty(EnvConfigKey.CONFIG_KEEPASS_FILENAME.getProperty(), "kdbx4.kdbx");
+        setKeepassEnabled();
+        Assertions.assertEquals("KDBX4_VALUE", EnvConfig.get(PROPERTY_KEEPASS));
+        final KeepassDatabaseCache<?> cache = KeepassConfiguration.getDatabaseCache();
+        final long misses = cache.getMisses();
+        final long hits = cache.getHits();
+        EnvConfig.reset();
+        Assertions.assertEquals("KDBX4_VALUE", EnvConfig.get(PROPERTY_KEEPASS));
+        Assertions.assertEquals(misses, cache.getMisses());
+        Assertions.assertEquals(hits + 1, cache.getHits());
+    }
+
+    @Test
+    void testListenersAreNotifiedOfChangedKeys() throws InterruptedException {
+        final BlockingQueue<EnvConfigChange> changes = new LinkedBlockingQueue<>();
+        final EnvConfigListener listener = changes::add;
+        EnvConfig.addListener(listener);
+        try {
+            EnvConfig.set("property.one", "changed");
+            Assertions.assertEquals(Set.of("property.one"), changes.poll(5, TimeUnit.SECONDS).getChanged());
+            // setting the same value is not a change
+            EnvConfig.set("property.one", "changed");
+            EnvConfig.set("property.listener", TEST_VALUE);
+            Assertions.assertEquals(Set.of("property.listener"), changes.poll(5, TimeUnit.SECONDS).getAdded());
+            EnvConfig.clear("property.listener");
+            Assertions.assertEquals(Set.of("property.listener"), changes.poll(5, TimeUnit.SECONDS).getRemoved());
+        } finally {
+            EnvConfig.removeListener(listener);
+        }
+    }
+
+    @Test
+    void testListenersAreNotifiedOfChangedInterpolatedKeys() throws InterruptedException {
+        final BlockingQueue<EnvConfigChange> changes = new LinkedBlockingQueue<>();
+        final EnvConfigListener listener = changes::add;
+        EnvConfig.set("property.listener", TEST_VALUE);
+        EnvConfig.set("property.interpolated", "${property.listener}");
+        EnvConfig.addListener(listener);
+        try {
+            // when a key referenced by an interpolated key changes
+            // then both keys are notified as changed
+            EnvConfig.set("property.listener", "changed");
+            Assertions.assertEquals(Set.of("property.listener", "property.interpolated"),
+                changes.poll(5, TimeUnit.SECONDS).getChanged());
+            EnvConfig.clear("property.listener");
+            final EnvConfigChange change = changes.poll(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(Set.of("property.listener"), change.getRemoved());
+            Assertions.assertEquals(Set.of("property.interpolated"), change.getChanged());
+        } finally {
+            EnvConfig.removeListener(listener);
+        }
+    }
+
+    @Test
+    void testListenersAreNotifiedOfKeysChangedByReset() throws InterruptedException {
+        final BlockingQueue<EnvConfigChange> changes = new LinkedBlockingQueue<>();
+        final EnvConfigListener listener = changes::add;
+        EnvConfig.set("property.one", "changed");
+        EnvConfig.addListener(listener);
+        try {
+            EnvConfig.reset();
+            Assertions.assertEquals("default", EnvConfig.get("property.one"));
+            final EnvConfigChange change = changes.poll(5, TimeUnit.SECONDS);
+            Assertions.assertEquals(Set.of("property.one"), change.getKeys());
+        } finally {
+            EnvConfig.removeListener(listener);
+        }
+    }
+
     private void setKeepassEnabled() {
         System.setProperty(EnvConfigKey.CONFIG_KEEPASS_ENABLED.getProperty(), "true");
         System.setProperty(EnvConfigKey.CONFIG_KEEPASS_MASTERKEY.getProperty(), CONFIG_KEEPASS_PASSWORD);
@@ -401,4 +530,165 @@ class EnvConfigTest {
         Assertions.assertEquals(KEEPASS_VALUE, EnvConfig.get("trailing.space.property"));
     }
 
+    @Test
+    void testCanStreamAndExportAllProperties() {
+        System.setProperty(EnvConfigKey.CONFIG_ENV.getProperty(), TEST_ENVIRONMENT);
+        EnvConfig.set("property.interpolated", "${property.one}");
+        final Map<String, Object> expected = new TreeMap<>();
+        EnvConfig.getConfig().configuration.getKeys().forEachRemaining(key -> expected.put(key, EnvConfig.get(key)));
+        final Map<String, Object> streamed = new TreeMap<>();
+        // each key is streamed once, with the same value as get
+        EnvConfig.stream().forEach(entry -> Assertions.assertNull(streamed.put(entry.getKey(), entry.getValue())));
+        Assertions.assertEquals(expected, streamed);
+        Assertions.assertEquals(expected, EnvConfig.asMap());
+        Assertions.assertEquals("test", streamed.get("property.interpolated"));
+        final StringBuilder output = new StringBuilder();
+        EnvConfig.export(output, EnvConfigFormat.PROPERTIES);
+        final List<String> lines = output.toString().lines().toList();
+        Assertions.assertEquals(expected.size(), lines.size());
+        Assertions.assertTrue(lines.containsAll(List.of("property.one=test", "PROPERTY_ONE=test")));
+    }
+
+    @Test
+    void testAsMapKeepsKeysWithoutValue() {
+        final Map<String, Object> withoutValue = new HashMap<>();
+        withoutValue.put("property.without.value", null);
+        EnvConfig.getConfig().configuration.addConfiguration(new MapConfiguration(withoutValue));
+        final Map<String, Object> properties = EnvConfig.asMap();
+        Assertions.assertTrue(properties.containsKey("property.without.value"));
+        Assertions.assertNull(properties.get("property.without.value"));
+        Assertions.assertTrue(EnvConfig.stream().noneMatch(entry -> "property.without.value".equals(entry.getKey())));
+    }
+
+    @Test
+    void testCanGetKeysAndSubsetByPrefix() {
+        System.setProperty(EnvConfigKey.CONFIG_ENV.getProperty(), TEST_ENVIRONMENT);
+        System.setProperty("property.system", "system");
+        environmentVariables.set("PROPERTY_NINE", " nine ");
+        EnvConfig.set("property.interpolated", "${property.one}");
+        Assertions.assertEquals(List.of("prof1.one"), EnvConfig.keys("prof1."));
+        Assertions.assertEquals(List.of("property.one"), EnvConfig.keys("property.o"));
+        final List<String> envKeys = EnvConfig.keys("PROPERTY_");
+        Assertions.assertTrue(envKeys.containsAll(List.of("PROPERTY_NINE", "PROPERTY_ONE", "PROPERTY_SEVEN")));
+        Assertions.assertTrue(envKeys.stream().allMatch(key -> key.startsWith("PROPERTY_")));
+        final Map<String, String> subset = EnvConfig.getSubset("property");
+        Assertions.assertEquals(subset, EnvConfig.getSubset("property."));
+        Assertions.assertEquals("test", subset.get("one"));
+        Assertions.assertEquals("default", subset.get("four"));
+        Assertions.assertEquals("nine", subset.get("nine"));
+        Assertions.assertEquals("system", subset.get("system"));
+        Assertions.assertEquals("test", subset.get("interpolated"));
+        subset.forEach((key, value) -> Assertions.assertEquals(EnvConfig.get("property." + key), value));
+        Assertions.assertTrue(EnvConfig.getSubset("non.existing").isEmpty());
+        System.clearProperty("property.system");
+    }
+
+    @Test
+    void testCanBindNamespaceToRecord() {
+        environmentVariables.set("DB_POOL_MAX_SIZE", "20");
+        EnvConfig.set("db.pool.url", "jdbc:h2:mem");
+        final Pool pool = EnvConfig.bind("db.pool", Pool.class);
+        Assertions.assertEquals(new Pool("jdbc:h2:mem", 20, List.of()), pool);
+        Assertions.assertSame(pool, EnvConfig.bind("DB_POOL", Pool.class));
+        EnvConfig.set("db.url", "other");
+        Assertions.assertSame(pool, EnvConfig.bind("db.pool", Pool.class));
+        EnvConfig.set("db.pool.hosts", "one,two");
+        Assertions.assertEquals(new Pool("jdbc:h2:mem", 20, List.of("one", "two")), EnvConfig.bind("db.pool", Pool.class));
+    }
+
+    @Test
+    void testBindingIsNotServedFromCacheOnceShadowedBySystemProperty() {
+        EnvConfig.set("db.pool.max.size", "20");
+        final Pool pool = EnvConfig.bind("db.pool", Pool.class);
+        Assertions.assertSame(pool, EnvConfig.bind("db.pool", Pool.class));
+        System.setProperty("db.pool.max.size", "30");
+        try {
+            Assertions.assertEquals("30", EnvConfig.get("db.pool.max.size"));
+            Assertions.assertEquals(30, EnvConfig.bind("db.pool", Pool.class).maxSize());
+        } finally {
+            System.clearProperty("db.pool.max.size");
+        }
+        Assertions.assertEquals(20, EnvConfig.bind("db.pool", Pool.class).maxSize());
+    }
+
+    @Test
+    void testBindingIsNotCachedWhenResolvedOnRead() {
+        EnvConfig.set("db.pool.max.size", "20");
+        EnvConfig.set("db.pool.url", "${db.url}");
+        EnvConfig.set("db.url", "jdbc:h2:mem");
+        Assertions.assertEquals("jdbc:h2:mem", EnvConfig.bind("db.pool", Pool.class).url());
+        EnvConfig.set("db.url", "jdbc:h2:file");
+        Assertions.assertEquals("jdbc:h2:file", EnvConfig.bind("db.pool", Pool.class).url());
+    }
+
+    @Test
+    void testEnvironmentKeepsOnlyDeltaFromParent(@TempDir final Path directory) throws IOException {
+        Files.createDirectories(directory.resolve(EnvConfigUtils.CONFIG_ENV_DEFAULT));
+        Files.createDirectories(directory.resolve(TEST_ENVIRONMENT));
+        Files.writeString(directory.resolve("default/default.properties"), "property.shared=same\nproperty.other=default\n");
+        Files.writeString(directory.resolve("test/test.properties"), "property.shared=same\nproperty.other=test\n");
+        System.setProperty(EnvConfigKey.CONFIG_PATH.getProperty(), directory.toString());
+        System.setProperty(EnvConfigKey.CONFIG_ENV.getProperty(), TEST_ENVIRONMENT);
+        System.setProperty(EnvConfigKey.CONFIG_DELTA_ENABLED.getProperty(), "true");
+        try {
+            // when property.shared has the same value in test and default env
+            // then it is only kept in the default env
+            Assertions.assertEquals("same", EnvConfig.get("property.shared"));
+            Assertions.assertEquals("same", EnvConfig.get("PROPERTY_SHARED"));
+            Assertions.assertEquals("test", EnvConfig.get("property.other"));
+            Assertions.assertEquals(1, getLayersContaining("property.shared"));
+            Assertions.assertEquals(2, getLayersContaining("property.other"));
+            EnvConfig.clear("property.shared");
+            Assertions.assertNull(EnvConfig.get("property.shared"));
+        } finally {
+            System.clearProperty(EnvConfigKey.CONFIG_PATH.getProperty());
+            System.clearProperty(EnvConfigKey.CONFIG_DELTA_ENABLED.getProperty());
+            EnvConfig.reset();
+        }
+    }
+
+    @Test
+    void testEnvVarOverridesReloadedFile(@TempDir final Path directory) throws IOException, InterruptedException {
+        Files.createDirectories(directory.resolve(EnvConfigUtils.CONFIG_ENV_DEFAULT));
+        final Path file = directory.resolve("default/default.properties");
+        Files.writeString(file, "property.reload=same\n");
+        environmentVariables.set("PROPERTY_RELOAD", "same");
+        System.setProperty(EnvConfigKey.CONFIG_PATH.getProperty(), directory.toString());
+        System.setProperty(EnvConfigKey.CONFIG_ENV.getProperty(), EnvConfigUtils.CONFIG_ENV_DEFAULT);
+        System.setProperty(EnvConfigKey.CONFIG_RELOAD_ENABLED.getProperty(), "true");
+        System.setProperty(EnvConfigKey.CONFIG_RELOAD_DEBOUNCE.getProperty(), "50");
+        try {
+            Assertions.assertEquals("same", EnvConfig.get("property.reload"));
+            // when the file is edited to differ from the env var
+            // then the env var still takes priority, as after a restart
+            Files.writeString(file, "property.reload=edited\nproperty.added=added\n");
+            awaitUntil(() -> "added".equals(EnvConfig.get("property.added")));
+            Assertions.assertEquals("same", EnvConfig.get("property.reload"));
+            EnvConfig.reset();
+            Assertions.assertEquals("same", EnvConfig.get("property.reload"));
+        } finally {
+            System.clearProperty(EnvConfigKey.CONFIG_PATH.getProperty());
+            System.clearProperty(EnvConfigKey.CONFIG_ENV.getProperty());
+            System.clearProperty(EnvConfigKey.CONFIG_RELOAD_ENABLED.getProperty());
+            System.clearProperty(EnvConfigKey.CONFIG_RELOAD_DEBOUNCE.getProperty());
+            EnvConfig.reset();
+        }
+    }
+
+    private static void awaitUntil(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    private static long getLayersContaining(final String key) {
+        final CompositeConfiguration configuration = EnvConfig.getConfig().configuration;
+        return IntStream.range(0, configuration.getNumberOfConfigurations())
+            .filter(i -> configuration.getConfiguration(i).containsKey(key))
+            .count();
+    }
+
+    private record Pool(String url, int maxSize, List<String> hosts) {
+    }
 }
@@ -37,6 +37,42 @@ class EnvConfigUtilsTest {
         assertEquals("FOO_KEY", EnvConfigUtils.getProcessedEnvKey("Foo.Key"));
     }
 
+    @Test
+    void testProcessedKeyIsSameInstanceWhenUnchanged() {
+        final String propertyKey = "foo.key";
+        final String envKey = "FOO_KEY";
+        Assertions.assertSame(propertyKey, EnvConfigUtils.getProcessedPropertyKey(propertyKey));
+        Assertions.assertSame(envKey, EnvConfigUtils.getProcessedEnvKey(envKey));
+    }
+
+    @Test
+    void testCanGetCamelCaseKey() {
+        assertEquals("max.size", EnvConfigUtils.getCamelCaseKey("maxSize"));
+        assertEquals("http.url", EnvConfigUtils.getCamelCaseKey("httpURL"));
+        assertEquals("url", EnvConfigUtils.getCamelCaseKey("url"));
+    }
+
+    @Test
+    void testCanTellPropertyForm() {
+        Assertions.assertTrue(EnvConfigUtils.isPropertyForm("foo.bar-1.baz"));
+        Assertions.assertFalse(EnvConfigUtils.isPropertyForm("FOO_KEY"));
+        Assertions.assertFalse(EnvConfigUtils.isPropertyForm("foo_key"));
+        Assertions.assertFalse(EnvConfigUtils.isPropertyForm("stra\u00dfe.key"));
+    }
+
+    @Test
+    void testCanGetProcessedKeyWithNonAsciiCharacters() {
+        assertEquals("stra\u00dfe.key", EnvConfigUtils.getProcessedPropertyKey("STRA\u00dfE_KEY"));
+        assertEquals("STRASSE_KEY", EnvConfigUtils.getProcessedEnvKey("stra\u00dfe.key"));
+        assertEquals("\u00c9T\u00c9_KEY", EnvConfigUtils.getProcessedEnvKey("\u00e9t\u00e9.key"));
+    }
+
+    @Test
+    void testCanGetProcessedKeyWithMixedCharacters() {
+        assertEquals("foo.bar-1.baz", EnvConfigUtils.getProcessedPropertyKey("Foo_Bar-1_BAZ"));
+        assertEquals("FOO_BAR-1_BAZ", EnvConfigUtils.getProcessedEnvKey("Foo.bar-1.baz"));
+    }
+
     @Test
     void testCanGetListOfValues() {
         assertEquals(List.of("foo", "bar", ""), EnvConfigUtils.getListOfValues("foo , bar, ", EnvConfigUtils.CONFIG_DELIMITER_DEFAULT));
@@ -0,0 +1,56 @@
+package com.github.sitture.envconfig;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class EnvConfigValueCacheTest {
+
+    private static final String KEY = "property.int";
+
+    private final EnvConfigValueCache cache = new EnvConfigValueCache();
+    private final AtomicInteger conversions = new AtomicInteger();
+    private final Function<String, Integer> converter = value -> {
+        conversions.incrementAndGet();
+        return Integer.parseInt(value);
+    };
+
+    @Test
+    void testConvertsOnlyOnce() {
+        Assertions.assertEquals(1, cache.get(KEY, "1", Integer.class, converter));
+        Assertions.assertEquals(1, cache.get(KEY, "1", Integer.class, converter));
+        Assertions.assertEquals(1, conversions.get());
+    }
+
+    @Test
+    void testConvertsAgainWhenValueChanges() {
+        Assertions.assertEquals(1, cache.get(KEY, "1", Integer.class, converter));
+        Assertions.assertEquals(2, cache.get(KEY, "2", Integer.class, converter));
+        Assertions.assertEquals(2, conversions.get());
+    }
+
+    @Test
+    void testConvertsAgainWhenInvalidated() {
+        cache.get(KEY, "1", Integer.class, converter);
+        cache.invalidate(KEY);
+        cache.get(KEY, "1", Integer.class, converter);
+        Assertions.assertEquals(2, conversions.get());
+    }
+
+    @Test
+    void testCachesEachConversionSeparately() {
+        Assertions.assertEquals(1, cache.get(KEY, "1", Integer.class, converter));
+        Assertions.assertEquals(Boolean.FALSE, cache.get(KEY, "1", Boolean.class, Boolean::parseBoolean));
+        Assertions.assertEquals(1, cache.get(KEY, "1", Integer.class, converter));
+        Assertions.assertEquals(1, conversions.get());
+    }
+
+    @Test
+    void testDoesNotCacheFailedConversions() {
+        Assertions.assertThrows(NumberFormatException.class, () -> cache.get(KEY, "one", Integer.class, converter));
+        Assertions.assertThrows(NumberFormatException.class, () -> cache.get(KEY, "one", Integer.class, converter));
+        Assertions.assertEquals(2, conversions.get());
+    }
+
+}
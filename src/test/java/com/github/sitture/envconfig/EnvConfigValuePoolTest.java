@@ -0,0 +1,49 @@
+package com.github.sitture.envconfig;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class EnvConfigValuePoolTest {
+
+    private final EnvConfigValuePool valuePool = new EnvConfigValuePool();
+
+    @Test
+    void testEqualValuesShareOneInstance() {
+        final Map<String, Object> defaultProperties = properties("property.one", new String("value".toCharArray()));
+        final Map<String, Object> testProperties = properties("property.one", new String("value".toCharArray()));
+        Assertions.assertNotSame(defaultProperties.get("property.one"), testProperties.get("property.one"));
+        valuePool.intern(defaultProperties);
+        valuePool.intern(testProperties);
+        Assertions.assertSame(defaultProperties.get("property.one"), testProperties.get("property.one"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testListElementsArePooledInAMutableCopy() {
+        final String value = valuePool.intern(new String("first".toCharArray())).toString();
+        final List<String> list = new ArrayList<>(List.of(new String("first".toCharArray()), "second"));
+        final Object pooled = valuePool.intern(list);
+        Assertions.assertEquals(list, pooled);
+        Assertions.assertSame(value, ((List<?>) pooled).get(0));
+        Assertions.assertDoesNotThrow(() -> ((List<Object>) pooled).add("third"));
+    }
+
+    @Test
+    void testClearedPoolNoLongerHoldsValues() {
+        final Map<String, Object> properties = valuePool.intern(properties("property.one", new String("value".toCharArray())));
+        valuePool.clear();
+        final String reloaded = new String("value".toCharArray());
+        Assertions.assertEquals("value", properties.get("property.one"));
+        Assertions.assertSame(reloaded, valuePool.intern(reloaded));
+    }
+
+    private static Map<String, Object> properties(final String key, final Object value) {
+        final Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put(key, value);
+        return properties;
+    }
+}
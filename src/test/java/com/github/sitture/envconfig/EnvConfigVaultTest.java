@@ -5,6 +5,8 @@ import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +23,7 @@ class EnvConfigVaultTest {
     private static final String PROPERTY_VAULT = "property.vault";
     private static final String SYS_PROPERTY_VALUE = "sys.property.value";
     private static final String SYS_ENV_VALUE = "sys.env.value";
+    private static final int SECRET_READ_DELAY_MS = 1000;
 
     @SystemStub
     private final SystemProperties systemProperties = new SystemProperties();
@@ -177,6 +180,62 @@ class EnvConfigVaultTest {
         Assertions.assertEquals("VAULT_COMMON_DEFAULT", EnvConfig.get("property.five"));
     }
 
+    @Test
+    void testVaultSecretsAreReadConcurrently() {
+        setVaultEnabled();
+        // Given default secret path is set
+        systemProperties.set(EnvConfigKey.CONFIG_VAULT_DEFAULT_PATH.getProperty(), "path/to/common");
+        // And environment is set to test
+        setEnvironment();
+        // And secrets are read with a parallelism of 4
+        systemProperties.set(EnvConfigKey.CONFIG_VAULT_READ_PARALLELISM.getProperty(), 4);
+        // setup wiremock stubs for vault where each secret read takes a second
+        stubSelfLookupSuccess();
+        List.of("project/default", "project/test", "common/default", "common/test").forEach(path ->
+            stubFor(get("/v1/path/data/to/" + path).willReturn(okJson("""
+                {
+                  "data": {
+                    "data": {
+                       "property.one": "%s"
+                    }
+                  }
+                }
+                """.formatted(path)).withFixedDelay(SECRET_READ_DELAY_MS))));
+        final long start = System.nanoTime();
+        // then value from project/test still takes priority
+        Assertions.assertEquals("project/test", EnvConfig.get("property.one"));
+        // and all four secrets are read in roughly the time of a single read
+        final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assertions.assertTrue(elapsed < 2L * SECRET_READ_DELAY_MS, "Loading took " + elapsed + "ms");
+    }
+
+    @Test
+    void testVaultSecretsAreRefreshedInTheBackground() throws InterruptedException {
+        setVaultEnabled();
+        // Given vault secrets are refreshed every 200ms
+        systemProperties.set(EnvConfigKey.CONFIG_VAULT_REFRESH_ENABLED.getProperty(), true);
+        systemProperties.set(EnvConfigKey.CONFIG_VAULT_REFRESH_TTL.getProperty(), 300);
+        stubSelfLookupSuccess();
+        stubGetSecretSuccess();
+        Assertions.assertEquals("VAULT_PROJECT_DEFAULT", EnvConfig.get("property.one"));
+        // when the secret is rotated
+        stubFor(get("/v1/path/data/to/project/default").willReturn(okJson("""
+            {
+              "data": {
+                "data": {
+                   "property.one": "VAULT_PROJECT_ROTATED"
+                }
+              }
+            }
+            """)));
+        // then the rotated value is picked up without a reset
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!"VAULT_PROJECT_ROTATED".equals(EnvConfig.get("property.one")) && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+        Assertions.assertEquals("VAULT_PROJECT_ROTATED", EnvConfig.get("property.one"));
+    }
+
     private void setVaultEnabled() {
         systemProperties.set(EnvConfigKey.CONFIG_VAULT_ENABLED.getProperty(), true);
         systemProperties.set(EnvConfigKey.CONFIG_VAULT_ADDRESS.getProperty(), "http://localhost:8999");
@@ -0,0 +1,65 @@
+package com.github.sitture.envconfig;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class KeepassDatabaseCacheTest {
+
+    private static final byte[] CONTENTS = "database".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] MASTER_KEY = "envconfig".getBytes(StandardCharsets.UTF_8);
+
+    private final KeepassDatabaseCache<String> cache = new KeepassDatabaseCache<>(2);
+    private final AtomicInteger decodes = new AtomicInteger();
+
+    private Supplier<String> decoder(final String database) {
+        return () -> {
+            decodes.incrementAndGet();
+            return database;
+        };
+    }
+
+    @Test
+    void testDecodesUnchangedDatabaseOnlyOnce() {
+        Assertions.assertEquals("one", cache.get(CONTENTS, MASTER_KEY, decoder("one")));
+        Assertions.assertEquals("one", cache.get(CONTENTS.clone(), MASTER_KEY.clone(), decoder("two")));
+        Assertions.assertEquals(1, decodes.get());
+        Assertions.assertEquals(1, cache.getHits());
+        Assertions.assertEquals(1, cache.getMisses());
+        Assertions.assertEquals(0.5, cache.getHitRate());
+    }
+
+    @Test
+    void testDecodesAgainWhenContentsOrMasterKeyChange() {
+        cache.get(CONTENTS, MASTER_KEY, decoder("one"));
+        Assertions.assertEquals("two", cache.get("changed".getBytes(StandardCharsets.UTF_8), MASTER_KEY, decoder("two")));
+        Assertions.assertEquals("three", cache.get(CONTENTS, "other".getBytes(StandardCharsets.UTF_8), decoder("three")));
+        Assertions.assertEquals(3, decodes.get());
+        Assertions.assertEquals(0, cache.getHitRate());
+    }
+
+    @Test
+    void testDoesNotCacheFailedDecodes() {
+        final Supplier<String> failing = () -> {
+            decodes.incrementAndGet();
+            throw new EnvConfigException("Error opening database!");
+        };
+        Assertions.assertThrows(EnvConfigException.class, () -> cache.get(CONTENTS, MASTER_KEY, failing));
+        Assertions.assertEquals("one", cache.get(CONTENTS, MASTER_KEY, decoder("one")));
+        Assertions.assertEquals(2, decodes.get());
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedDatabase() {
+        cache.get(CONTENTS, MASTER_KEY, decoder("one"));
+        cache.get("two".getBytes(StandardCharsets.UTF_8), MASTER_KEY, decoder("two"));
+        cache.get(CONTENTS, MASTER_KEY, decoder("one"));
+        cache.get("three".getBytes(StandardCharsets.UTF_8), MASTER_KEY, decoder("three"));
+        Assertions.assertEquals("one", cache.get(CONTENTS, MASTER_KEY, decoder("one")));
+        Assertions.assertEquals("two", cache.get("two".getBytes(StandardCharsets.UTF_8), MASTER_KEY, decoder("two")));
+        Assertions.assertEquals(4, decodes.get());
+    }
+
+}
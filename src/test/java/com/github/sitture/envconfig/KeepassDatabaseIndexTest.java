@@ -0,0 +1,80 @@
+package com.github.sitture.envconfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.linguafranca.pwdb.kdbx.KdbxCreds;
+import org.linguafranca.pwdb.kdbx.jackson.JacksonDatabase;
+
+class KeepassDatabaseIndexTest {
+
+    private static final KeepassDatabaseIndex INDEX = loadIndex();
+    private static final String GROUP = "env-config";
+
+    private static KeepassDatabaseIndex loadIndex() {
+        return new KeepassDatabaseIndex(loadDatabase());
+    }
+
+    private static JacksonDatabase loadDatabase() {
+        try (InputStream database = ClassLoader.getSystemResourceAsStream("env-config.kdbx")) {
+            return JacksonDatabase.load(new KdbxCreds("envconfig".getBytes(StandardCharsets.UTF_8)), database);
+        } catch (IOException e) {
+            throw new EnvConfigException(e);
+        }
+    }
+
+    @Test
+    void testDefaultGroupIsFirstProjectGroup() {
+        Assertions.assertEquals(GROUP, INDEX.getDefaultGroup());
+    }
+
+    @Test
+    void testCanGetEntriesByTitleAndPropertyKey() {
+        Assertions.assertEquals(Map.of(
+            "property.eight", "KEEPASS_VALUE",
+            "PROPERTY_EIGHT", "KEEPASS_VALUE",
+            "property.keepass", "KEEPASS_VALUE",
+            "PROPERTY_KEEPASS", "KEEPASS_VALUE"), INDEX.getEntries(GROUP, "default"));
+        Assertions.assertEquals("KEEPASS_VALUE", INDEX.getEntries(GROUP, "test").get("trailing.space.property"));
+    }
+
+    @Test
+    void testEntriesAreNotSharedBetweenCallers() {
+        final Map<String, String> entries = INDEX.getEntries(GROUP, "test");
+        entries.remove("trailing.space.property");
+        Assertions.assertNull(entries.get("trailing.space.property"));
+        Assertions.assertEquals("KEEPASS_VALUE", INDEX.getEntries(GROUP, "test").get("trailing.space.property"));
+    }
+
+    @Test
+    void testDoesNotKeepTheDecodedDatabase() throws InterruptedException {
+        final JacksonDatabase[] database = {loadDatabase()};
+        final WeakReference<JacksonDatabase> decoded = new WeakReference<>(database[0]);
+        final KeepassDatabaseIndex index = new KeepassDatabaseIndex(database[0]);
+        database[0] = null;
+        for (int i = 0; i < 50 && null != decoded.get(); i++) {
+            System.gc();
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        Assertions.assertNull(decoded.get());
+        Assertions.assertEquals("KEEPASS_VALUE", index.getEntries(GROUP, "default").get("property.eight"));
+    }
+
+    @Test
+    void testEmptyWhenEnvironmentGroupMissing() {
+        Assertions.assertTrue(INDEX.getEntries(GROUP, "non-existing").isEmpty());
+    }
+
+    @Test
+    void testExceptionWhenProjectGroupMissing() {
+        final IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+            () -> INDEX.getEntries("non-existing", "default"));
+        Assertions.assertEquals("Group non-existing not found in the database!", exception.getMessage());
+    }
+
+}
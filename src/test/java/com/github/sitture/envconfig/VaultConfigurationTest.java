@@ -1,11 +1,15 @@
 package com.github.sitture.envconfig;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.findAll;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.notFound;
 import static com.github.tomakehurst.wiremock.client.WireMock.okJson;
 import static com.github.tomakehurst.wiremock.client.WireMock.serverError;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static com.github.valfirst.slf4jtest.Assertions.assertThat;
 
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
@@ -13,10 +17,21 @@ import com.github.valfirst.slf4jtest.LoggingEvent;
 import com.github.valfirst.slf4jtest.TestLogger;
 import com.github.valfirst.slf4jtest.TestLoggerFactory;
 import io.github.jopenlibs.vault.VaultException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
 import org.apache.commons.configuration2.Configuration;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.slf4j.event.Level;
 
 
@@ -24,6 +39,13 @@ import org.slf4j.event.Level;
 @WireMockTest(httpPort = 8999)
 class VaultConfigurationTest {
 
+    private static final String SNAPSHOT_KEY = Base64.getEncoder().encodeToString("0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+    private static final String SECRET = "path/to/project/default";
+    private static final String SNAPSHOT_SECRET = "http://localhost:8999|mock|" + SECRET;
+
+    @TempDir
+    private Path directory;
+
     @Test
     void testCanGetConfigurationMapWithData() {
         stubSelfLookupSuccess();
@@ -79,19 +101,286 @@ class VaultConfigurationTest {
             && "Vault responded with HTTP status code: 412\nResponse body: ".equals(event.getThrowable().get().getMessage());
 
         assertThat(testLogger).hasLogged(errorWithVault412Throwable.and(
-            event -> "An exception occurred validating the vault token, will retry in 0 seconds".equals(event.getMessage())));
-        assertThat(testLogger).hasLogged(errorWithVault412Throwable.and(
-            event -> "An exception occurred validating the vault token, will retry in 2 seconds".equals(event.getMessage())));
+            event -> event.getMessage().startsWith("An exception occurred validating the vault token, will retry in ")
+                && event.getMessage().endsWith(" ms")));
         assertThat(testLogger).hasLogged(errorWithVault412Throwable.and(
             event -> "Reached CONFIG_VAULT_VALIDATE_MAX_RETRIES limit (2) attempting to validate token".equals(event.getMessage())));
     }
 
+    @Test
+    void testExceptionWhenValidateDeadlineReached() {
+        stubSelfLookupFailure();
+        final EnvConfigVaultProperties vaultProperties = getMockVaultProperties(
+            new EnvConfigVaultValidationProperties(5, Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofMillis(100), false));
+
+        final EnvConfigException exception = Assertions.assertThrows(
+            EnvConfigException.class, () -> getVaultConfiguration(vaultProperties, "default"));
+
+        Assertions.assertEquals("Reached CONFIG_VAULT_VALIDATE_DEADLINE (100 ms) attempting to validate token", exception.getMessage());
+    }
+
+    @Test
+    void testExceptionWhenValidateDeadlineReachedWhilstVaultHangs() {
+        stubFor(get("/v1/auth/token/lookup-self").willReturn(okJson("{}").withFixedDelay(5000)));
+        final EnvConfigVaultProperties vaultProperties = getMockVaultProperties(
+            new EnvConfigVaultValidationProperties(5, Duration.ofMillis(100), Duration.ofSeconds(1), Duration.ofMillis(500), false));
+
+        final EnvConfigException exception = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(4),
+            () -> Assertions.assertThrows(EnvConfigException.class, () -> getVaultConfiguration(vaultProperties, "default")));
+
+        Assertions.assertEquals("Reached CONFIG_VAULT_VALIDATE_DEADLINE (500 ms) attempting to validate token", exception.getMessage());
+    }
+
+    @Test
+    void testStopsValidatingWhenClosed() throws InterruptedException {
+        stubSelfLookupFailure();
+        final EnvConfigVaultProperties vaultProperties = getMockVaultProperties(
+            new EnvConfigVaultValidationProperties(1000, Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofMinutes(1), true));
+        final VaultConfiguration vaultConfiguration = new VaultConfiguration(vaultProperties);
+        awaitUntil(() -> !findAll(getRequestedFor(urlEqualTo("/v1/auth/token/lookup-self"))).isEmpty());
+        vaultConfiguration.close();
+        TimeUnit.MILLISECONDS.sleep(500);
+        Assertions.assertEquals(1, findAll(getRequestedFor(urlEqualTo("/v1/auth/token/lookup-self"))).size());
+    }
+
+    @Test
+    void testTimeoutIsRoundedUpToSeconds() {
+        Assertions.assertEquals(1, VaultConfiguration.getTimeoutSeconds(Duration.ofMillis(100)));
+        Assertions.assertEquals(1, VaultConfiguration.getTimeoutSeconds(Duration.ofMillis(-100)));
+        Assertions.assertEquals(2, VaultConfiguration.getTimeoutSeconds(Duration.ofMillis(1001)));
+        Assertions.assertEquals(60, VaultConfiguration.getTimeoutSeconds(Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void testBackoffGrowsExponentiallyWithJitter() {
+        final EnvConfigVaultValidationProperties validationProperties =
+            new EnvConfigVaultValidationProperties(5, Duration.ofMillis(100), Duration.ofMillis(1000), Duration.ofSeconds(10), false);
+        for (int i = 0; i < 100; i++) {
+            assertBetween(50, 100, VaultConfiguration.getBackoffMillis(0, validationProperties));
+            assertBetween(100, 200, VaultConfiguration.getBackoffMillis(1, validationProperties));
+            assertBetween(200, 400, VaultConfiguration.getBackoffMillis(2, validationProperties));
+            assertBetween(500, 1000, VaultConfiguration.getBackoffMillis(10, validationProperties));
+            assertBetween(500, 1000, VaultConfiguration.getBackoffMillis(Integer.MAX_VALUE, validationProperties));
+        }
+    }
+
+    @Test
+    void testCanValidateTokenAsync() {
+        stubSelfLookupSuccess();
+        stubReadSecretSuccess();
+        final EnvConfigVaultProperties vaultProperties = getMockVaultProperties(
+            new EnvConfigVaultValidationProperties(2, Duration.ofMillis(100), Duration.ofSeconds(1), Duration.ofSeconds(10), true));
+        final Configuration configuration = getVaultConfiguration(vaultProperties, "default");
+        Assertions.assertEquals("value1", configuration.getString("key1"));
+    }
+
+    @Test
+    void testExceptionWhenAsyncValidationFails() {
+        stubSelfLookupFailure();
+        final EnvConfigVaultProperties vaultProperties = getMockVaultProperties(
+            new EnvConfigVaultValidationProperties(2, Duration.ofMillis(100), Duration.ofSeconds(1), Duration.ofSeconds(10), true));
+        final VaultConfiguration vaultConfiguration = Assertions.assertDoesNotThrow(() -> new VaultConfiguration(vaultProperties));
+
+        final EnvConfigException exception = Assertions.assertThrows(
+            EnvConfigException.class, () -> vaultConfiguration.getConfiguration("default", vaultProperties.getSecretPath()));
+
+        Assertions.assertEquals("Reached CONFIG_VAULT_VALIDATE_MAX_RETRIES limit (2) attempting to validate token", exception.getMessage());
+    }
+
+    @Test
+    void testRefreshesSecretBeforeLeaseExpires() throws InterruptedException {
+        stubSelfLookupSuccess();
+        stubReadSecretWithLease("""
+            "key1": "value1",
+            "key2": "value2"
+            """);
+        // the configured ttl is far too long, so only the lease duration returned by vault triggers a refresh
+        final EnvConfigVaultProperties vaultProperties = getMockVaultProperties(
+            new EnvConfigVaultCacheProperties(true, Duration.ofHours(1), null, null));
+        final VaultConfiguration vaultConfiguration = new VaultConfiguration(vaultProperties);
+        try {
+            final Configuration configuration = vaultConfiguration.getConfiguration("default", vaultProperties.getSecretPath());
+            Assertions.assertEquals("value1", configuration.getString("key1"));
+            stubReadSecretWithLease("""
+                "key1": "rotated"
+                """);
+            vaultConfiguration.refresh((layer, contents) -> layer.swap(contents));
+            awaitUntil(() -> "rotated".equals(configuration.getString("key1")));
+            Assertions.assertEquals("rotated", configuration.getString("key1"));
+            Assertions.assertFalse(configuration.containsKey("key2"));
+        } finally {
+            vaultConfiguration.close();
+        }
+    }
+
+    @Test
+    void testRefreshKeepsSecretWhilstVaultDeniesIt() throws InterruptedException {
+        stubSelfLookupSuccess();
+        stubFor(get("/v1/path/data/to/project/test").willReturn(okJson("""
+            {
+              "lease_duration": 1,
+              "data": {
+                "data": {
+                  "key1": "value1"
+                }
+              }
+            }
+            """)));
+        final Path file = directory.resolve("vault.snapshot");
+        final EnvConfigVaultProperties vaultProperties = getMockVaultProperties(
+            new EnvConfigVaultCacheProperties(true, Duration.ofHours(1), file, SNAPSHOT_KEY));
+        final VaultConfiguration vaultConfiguration = new VaultConfiguration(vaultProperties);
+        final List<Configuration> refreshed = new CopyOnWriteArrayList<>();
+        try {
+            final Configuration configuration = vaultConfiguration.getConfiguration("test", vaultProperties.getSecretPath());
+            awaitUntil(() -> Files.exists(file));
+            // the token expired, a refresh of a secret of any environment must not empty it
+            stubFor(get("/v1/path/data/to/project/test").willReturn(aResponse().withStatus(403)));
+            vaultConfiguration.refresh((layer, contents) -> {
+                refreshed.add(contents);
+                layer.swap(contents);
+            });
+            awaitUntil(() -> findAll(getRequestedFor(urlEqualTo("/v1/path/data/to/project/test"))).size() > 2);
+            Assertions.assertEquals("value1", configuration.getString("key1"));
+            Assertions.assertTrue(refreshed.isEmpty());
+            Assertions.assertEquals(Map.of("key1", "value1"),
+                new VaultSecretSnapshot(file, SNAPSHOT_KEY).read().get("http://localhost:8999|mock|path/to/project/test"));
+        } finally {
+            vaultConfiguration.close();
+        }
+    }
+
+    @Test
+    void testCanGetConfigurationFromSnapshotBeforeVault() throws InterruptedException {
+        stubSelfLookupSuccess();
+        stubReadSecretSuccess();
+        final Path file = directory.resolve("vault.snapshot");
+        new VaultSecretSnapshot(file, SNAPSHOT_KEY).write(Map.of(SNAPSHOT_SECRET, Map.of("key1", "snapshot")));
+        final EnvConfigVaultProperties vaultProperties = getMockVaultProperties(
+            new EnvConfigVaultCacheProperties(false, Duration.ofMinutes(5), file, SNAPSHOT_KEY));
+        final VaultConfiguration vaultConfiguration = new VaultConfiguration(vaultProperties);
+        try {
+            final Configuration configuration = vaultConfiguration.getConfiguration("default", vaultProperties.getSecretPath());
+            Assertions.assertEquals("snapshot", configuration.getString("key1"));
+            verify(0, getRequestedFor(urlEqualTo("/v1/path/data/to/project/default")));
+            // then the secret is revalidated against vault and the snapshot updated
+            vaultConfiguration.refresh((layer, contents) -> layer.swap(contents));
+            awaitUntil(() -> "value1".equals(configuration.getString("key1")));
+            Assertions.assertEquals("value2", configuration.getString("key2"));
+            awaitUntil(() -> "value1".equals(new VaultSecretSnapshot(file, SNAPSHOT_KEY).read().get(SNAPSHOT_SECRET).get("key1")));
+            Assertions.assertEquals(Map.of(SNAPSHOT_SECRET, Map.of("key1", "value1", "key2", "value2")), new VaultSecretSnapshot(file, SNAPSHOT_KEY).read());
+        } finally {
+            vaultConfiguration.close();
+        }
+    }
+
+    @Test
+    void testCanGetConfigurationFromSnapshotWhenVaultIsUnavailable() {
+        stubFor(get("/v1/auth/token/lookup-self").willReturn(serverError()));
+        final Path file = directory.resolve("vault.snapshot");
+        new VaultSecretSnapshot(file, SNAPSHOT_KEY).write(Map.of(SNAPSHOT_SECRET, Map.of("key1", "snapshot")));
+        final EnvConfigVaultProperties vaultProperties = getMockVaultProperties(
+            new EnvConfigVaultCacheProperties(false, Duration.ofMinutes(5), file, SNAPSHOT_KEY));
+        final VaultConfiguration vaultConfiguration = new VaultConfiguration(vaultProperties);
+        try {
+            Assertions.assertEquals("snapshot",
+                vaultConfiguration.getConfiguration("default", vaultProperties.getSecretPath()).getString("key1"));
+        } finally {
+            vaultConfiguration.close();
+        }
+    }
+
+    @Test
+    void testRefreshesSnapshotSecretOnceVaultRecovers() throws InterruptedException {
+        stubFor(get("/v1/auth/token/lookup-self").willReturn(serverError()));
+        final Path file = directory.resolve("vault.snapshot");
+        new VaultSecretSnapshot(file, SNAPSHOT_KEY).write(Map.of(SNAPSHOT_SECRET, Map.of("key1", "snapshot")));
+        // the backoff is longer than the deadline, so validation fails for good on the first server error
+        final EnvConfigVaultProperties vaultProperties = new EnvConfigVaultProperties("http://localhost:8999", "mock", "mock_token",
+            "path/to/project/", null,
+            new EnvConfigVaultValidationProperties(2, Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofMillis(100), false),
+            new EnvConfigVaultCacheProperties(false, Duration.ofMinutes(5), file, SNAPSHOT_KEY));
+        final VaultConfiguration vaultConfiguration = new VaultConfiguration(vaultProperties);
+        try {
+            final Configuration configuration = vaultConfiguration.getConfiguration("default", vaultProperties.getSecretPath());
+            Assertions.assertEquals("snapshot", configuration.getString("key1"));
+            awaitUntil(() -> !findAll(getRequestedFor(urlEqualTo("/v1/auth/token/lookup-self"))).isEmpty());
+            vaultConfiguration.refresh((layer, contents) -> layer.swap(contents));
+            TimeUnit.MILLISECONDS.sleep(200);
+            Assertions.assertEquals("snapshot", configuration.getString("key1"));
+            // vault recovers, the next refresh validates the token again and reads the secret
+            stubSelfLookupSuccess();
+            stubReadSecretSuccess();
+            awaitUntil(() -> "value1".equals(configuration.getString("key1")));
+            Assertions.assertEquals("value1", configuration.getString("key1"));
+        } finally {
+            vaultConfiguration.close();
+        }
+    }
+
+    @Test
+    void testDoesNotServeSnapshotOfAnotherNamespace() {
+        stubSelfLookupSuccess();
+        stubReadSecretSuccess();
+        final Path file = directory.resolve("vault.snapshot");
+        new VaultSecretSnapshot(file, SNAPSHOT_KEY).write(Map.of("http://localhost:8999|other|" + SECRET, Map.of("key1", "snapshot")));
+        final EnvConfigVaultProperties vaultProperties = getMockVaultProperties(
+            new EnvConfigVaultCacheProperties(false, Duration.ofMinutes(5), file, SNAPSHOT_KEY));
+        final VaultConfiguration vaultConfiguration = new VaultConfiguration(vaultProperties);
+        try {
+            Assertions.assertEquals("value1",
+                vaultConfiguration.getConfiguration("default", vaultProperties.getSecretPath()).getString("key1"));
+            verify(1, getRequestedFor(urlEqualTo("/v1/path/data/to/project/default")));
+        } finally {
+            vaultConfiguration.close();
+        }
+    }
+
+    @Test
+    void testReturnsCachedSecret() {
+        stubSelfLookupSuccess();
+        stubReadSecretSuccess();
+        final EnvConfigVaultProperties vaultProperties = getMockVaultProperties();
+        final VaultConfiguration vaultConfiguration = new VaultConfiguration(vaultProperties);
+        Assertions.assertSame(vaultConfiguration.getConfiguration("default", vaultProperties.getSecretPath()),
+            vaultConfiguration.getConfiguration("default", vaultProperties.getSecretPath()));
+        verify(1, getRequestedFor(urlEqualTo("/v1/path/data/to/project/default")));
+    }
+
+    @Test
+    void testRefreshDelayIsTwoThirdsOfTtl() {
+        Assertions.assertEquals(2000, VaultConfiguration.getRefreshDelayMillis(Duration.ofSeconds(3)));
+        Assertions.assertEquals(100, VaultConfiguration.getRefreshDelayMillis(Duration.ZERO));
+    }
+
+    private static void awaitUntil(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    private static void assertBetween(final long min, final long max, final long actual) {
+        Assertions.assertTrue(actual >= min && actual <= max, "%s not between %s and %s".formatted(actual, min, max));
+    }
+
     private Configuration getVaultConfiguration(final EnvConfigVaultProperties vaultProperties, final String env) {
         return new VaultConfiguration(vaultProperties).getConfiguration(env, vaultProperties.getSecretPath());
     }
 
     private EnvConfigVaultProperties getMockVaultProperties() {
-        return new EnvConfigVaultProperties("http://localhost:8999", "mock", "mock_token", "path/to/project/", null, 2);
+        return getMockVaultProperties(
+            new EnvConfigVaultValidationProperties(2, Duration.ofMillis(100), Duration.ofSeconds(1), Duration.ofSeconds(10), false));
+    }
+
+    private EnvConfigVaultProperties getMockVaultProperties(final EnvConfigVaultValidationProperties validationProperties) {
+        return new EnvConfigVaultProperties("http://localhost:8999", "mock", "mock_token", "path/to/project/", null, validationProperties,
+            new EnvConfigVaultCacheProperties(false, Duration.ofMinutes(5), null, null));
+    }
+
+    private EnvConfigVaultProperties getMockVaultProperties(final EnvConfigVaultCacheProperties cacheProperties) {
+        return new EnvConfigVaultProperties("http://localhost:8999", "mock", "mock_token", "path/to/project/", null,
+            new EnvConfigVaultValidationProperties(2, Duration.ofMillis(100), Duration.ofSeconds(1), Duration.ofSeconds(10), false), cacheProperties);
     }
 
     private void stubReadSecretSuccess() {
@@ -107,6 +396,19 @@ class VaultConfigurationTest {
             """)));
     }
 
+    private void stubReadSecretWithLease(final String data) {
+        stubFor(get("/v1/path/data/to/project/default").willReturn(okJson("""
+            {
+              "lease_duration": 1,
+              "data": {
+                "data": {
+                  %s
+                }
+              }
+            }
+            """.formatted(data))));
+    }
+
     private void stubSelfLookupFailure() {
         stubFor(get("/v1/auth/token/lookup-self").willReturn(aResponse().withStatus(412)));
     }
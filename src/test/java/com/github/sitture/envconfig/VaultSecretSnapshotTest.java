@@ -0,0 +1,69 @@
+package com.github.sitture.envconfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.Map;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class VaultSecretSnapshotTest {
+
+    private static final String KEY = Base64.getEncoder().encodeToString("0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8));
+    private static final Map<String, Map<String, String>> SECRETS = Map.of(
+        "path/to/project/default", Map.of("key1", "value1", "key2", "value2"),
+        "path/to/project/test", Map.of());
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void testCanReadWrittenSecrets() {
+        final Path file = directory.resolve("snapshots/vault.snapshot");
+        new VaultSecretSnapshot(file, KEY).write(SECRETS);
+        Assertions.assertEquals(SECRETS, new VaultSecretSnapshot(file, KEY).read());
+    }
+
+    @Test
+    void testSecretsAreEncrypted() throws IOException {
+        final Path file = directory.resolve("vault.snapshot");
+        new VaultSecretSnapshot(file, KEY).write(SECRETS);
+        final String contents = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+        Assertions.assertFalse(contents.contains("value1"));
+        Assertions.assertFalse(contents.contains("path/to/project"));
+    }
+
+    @Test
+    void testEmptyWhenFileDoesNotExist() {
+        Assertions.assertTrue(new VaultSecretSnapshot(directory.resolve("vault.snapshot"), KEY).read().isEmpty());
+    }
+
+    @Test
+    void testEmptyWhenKeyDoesNotMatch() {
+        final Path file = directory.resolve("vault.snapshot");
+        new VaultSecretSnapshot(file, KEY).write(SECRETS);
+        final String otherKey = Base64.getEncoder().encodeToString(new byte[32]);
+        Assertions.assertTrue(new VaultSecretSnapshot(file, otherKey).read().isEmpty());
+    }
+
+    @Test
+    void testEmptyWhenFileIsCorrupt() throws IOException {
+        final Path file = directory.resolve("vault.snapshot");
+        Files.writeString(file, "not a snapshot");
+        Assertions.assertTrue(new VaultSecretSnapshot(file, KEY).read().isEmpty());
+    }
+
+    @Test
+    void testExceptionWhenKeyIsInvalid() {
+        final Path file = directory.resolve("vault.snapshot");
+        final EnvConfigException notBase64 = Assertions.assertThrows(EnvConfigException.class, () -> new VaultSecretSnapshot(file, "not-base64!"));
+        Assertions.assertEquals("'env.config.vault.snapshot.key' must be a base64 encoded AES key", notBase64.getMessage());
+        final String shortKey = Base64.getEncoder().encodeToString(new byte[8]);
+        final EnvConfigException tooShort = Assertions.assertThrows(EnvConfigException.class, () -> new VaultSecretSnapshot(file, shortKey));
+        Assertions.assertEquals("'env.config.vault.snapshot.key' must be a 128, 192 or 256 bit AES key", tooShort.getMessage());
+    }
+
+}